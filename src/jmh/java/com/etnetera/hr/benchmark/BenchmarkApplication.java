@@ -0,0 +1,108 @@
+package com.etnetera.hr.benchmark;
+
+import com.etnetera.hr.Application;
+import com.etnetera.hr.data.FrameworkVersion;
+import com.etnetera.hr.data.JavaScriptFramework;
+import com.etnetera.hr.search.ColumnarFrameworkIndex;
+import com.etnetera.hr.search.FrameworkNameIndex;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Application context without web server, backed by an in-memory H2 seeded with synthetic frameworks.
+ *
+ * @author Etnetera
+ */
+final class BenchmarkApplication implements AutoCloseable {
+
+    private static final int BATCH_SIZE = 10_000;
+
+    private static final LocalDate FIRST_DEPRECATION = LocalDate.parse("2015-01-01");
+
+    private final ConfigurableApplicationContext context;
+
+    private BenchmarkApplication(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    /**
+     * Start the application with db containing {@code rows} frameworks
+     *
+     * @param rows       number of frameworks
+     * @param properties additional application properties
+     * @return started application
+     */
+    static BenchmarkApplication start(int rows, String... properties) {
+        // passed as arguments, default properties would be overridden by application.yml
+        List<String> arguments = new ArrayList<>(List.of(
+                "--frameworks.cache.enabled=false",
+                "--frameworks.second-level-cache.enabled=false",
+                "--frameworks.single-flight.enabled=false",
+                "--logging.level.root=WARN"
+        ));
+        for (String property : properties) {
+            arguments.add("--" + property);
+        }
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .run(arguments.toArray(new String[0]));
+        BenchmarkApplication application = new BenchmarkApplication(context);
+        application.seed(rows);
+        return application;
+    }
+
+    <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /**
+     * Insert frameworks named "framework-N" with 1 to 4 versions, hype level 0 to 99 and
+     * deprecation dates spread over ten years
+     */
+    private void seed(int rows) {
+        JdbcTemplate jdbc = getBean(JdbcTemplate.class);
+        Random random = new Random(42);
+        List<Object[]> frameworks = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> versions = new ArrayList<>(BATCH_SIZE * 2);
+        for (long id = 1; id <= rows; id++) {
+            String name = "framework-" + id;
+            int hypeLevel = random.nextInt(100);
+            LocalDate deprecationDate = FIRST_DEPRECATION.plusDays(random.nextInt(3650));
+            int versionCount = 1 + random.nextInt(4);
+            List<String> frameworkVersions = new ArrayList<>(versionCount);
+            for (int v = 0; v < versionCount; v++) {
+                frameworkVersions.add(random.nextInt(5) + "." + random.nextInt(10) + "." + random.nextInt(10));
+            }
+            frameworks.add(new Object[]{id, name, hypeLevel, Date.valueOf(deprecationDate),
+                    JavaScriptFramework.contentHash(name, frameworkVersions, deprecationDate, hypeLevel)});
+            for (FrameworkVersion version : FrameworkVersion.of(frameworkVersions)) {
+                versions.add(new Object[]{id, version.getValue(), version.getMajor(), version.getMinor(), version.getPatch(), version.isLatest()});
+            }
+            if (frameworks.size() == BATCH_SIZE || id == rows) {
+                jdbc.batchUpdate("insert into java_script_framework (id, name, hype_level, deprecation_date, content_hash) values (?, ?, ?, ?, ?)", frameworks);
+                jdbc.batchUpdate("insert into java_script_framework_version (java_script_framework_id, version, major, minor, patch, latest) " +
+                        "values (?, ?, ?, ?, ?, ?)", versions);
+                frameworks.clear();
+                versions.clear();
+            }
+        }
+        // the pooled id optimizer takes the sequence value as the upper end of a block of 50 ids
+        jdbc.execute("alter sequence java_script_framework_seq restart with " + (rows + 50));
+        // the indexes were loaded from the empty db on startup
+        getBean(FrameworkNameIndex.class).load();
+        getBean(ColumnarFrameworkIndex.class).load();
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,112 @@
+package com.etnetera.hr.benchmark;
+
+import com.etnetera.hr.dto.JSFrameworkDto;
+import com.etnetera.hr.dto.SearchJSFrameworkDto;
+import com.etnetera.hr.service.JavaScriptFrameworkService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of concurrent {@link JavaScriptFrameworkService#searchFrameworks} with a persistent H2 db, changing
+ * one db setting of the {@code persistentdb} and {@code embeddeddb} profiles at a time, without cache.
+ * Every setting starts from a freshly seeded db file.
+ *
+ * @author Etnetera
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+public class DatabaseSettingsBenchmark {
+
+    private static final String TUNED = "jdbc:h2:%s;QUERY_CACHE_SIZE=64;CACHE_SIZE=65536";
+
+    private static final String FIXED_POOL = "spring.datasource.hikari.minimum-idle=10";
+
+    public enum Setting {
+        /** in-memory db of the default profile, for reference */
+        IN_MEMORY(),
+        /** persistentdb profile before tuning */
+        AUTO_SERVER_DEFAULTS("spring.datasource.url=jdbc:h2:%s;AUTO_SERVER=TRUE"),
+        AUTO_SERVER("spring.datasource.url=jdbc:h2:%s;AUTO_SERVER=TRUE;QUERY_CACHE_SIZE=64;CACHE_SIZE=65536", FIXED_POOL),
+        /** embeddeddb profile */
+        EMBEDDED("spring.datasource.url=" + TUNED, FIXED_POOL),
+        EMBEDDED_DEFAULT_QUERY_CACHE("spring.datasource.url=jdbc:h2:%s;CACHE_SIZE=65536", FIXED_POOL),
+        EMBEDDED_DEFAULT_PAGE_CACHE("spring.datasource.url=jdbc:h2:%s;QUERY_CACHE_SIZE=64", FIXED_POOL),
+        EMBEDDED_POOL_OF_2("spring.datasource.url=" + TUNED, "spring.datasource.hikari.maximum-pool-size=2"),
+        EMBEDDED_POOL_OF_50("spring.datasource.url=" + TUNED, "spring.datasource.hikari.maximum-pool-size=50"),
+        EMBEDDED_SMALL_PLAN_CACHE("spring.datasource.url=" + TUNED, FIXED_POOL,
+                "spring.jpa.properties.hibernate.query.plan_cache_max_size=16"),
+        EMBEDDED_NO_IN_CLAUSE_PADDING("spring.datasource.url=" + TUNED, FIXED_POOL,
+                "spring.jpa.properties.hibernate.query.in_clause_parameter_padding=false");
+
+        private final String[] properties;
+
+        Setting(String... properties) {
+            this.properties = properties;
+        }
+    }
+
+    /**
+     * Filters of different shapes, so the statement and plan caches are exercised
+     */
+    private static final List<SearchJSFrameworkDto> FILTERS = List.of(
+            SearchJSFrameworkDto.builder().version(List.of("1.2.3")).build(),
+            SearchJSFrameworkDto.builder().name("framework-4").version(List.of("1.2.3", "2.0.0")).build(),
+            SearchJSFrameworkDto.builder().minHypeLevel(90).maxHypeLevel(91).build(),
+            SearchJSFrameworkDto.builder().name("framework-123").namePrefixFirst(true).minHypeLevel(50).build()
+    );
+
+    @Param({"100000"})
+    public int rows;
+
+    @Param
+    public Setting setting;
+
+    private Path directory;
+
+    private BenchmarkApplication application;
+
+    private JavaScriptFrameworkService service;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("frameworks-benchmark");
+        String db = directory.resolve("frameworks").toAbsolutePath().toString();
+        String[] properties = new String[setting.properties.length];
+        for (int i = 0; i < properties.length; i++) {
+            properties[i] = String.format(setting.properties[i], db);
+        }
+        application = BenchmarkApplication.start(rows, properties);
+        service = application.getBean(JavaScriptFrameworkService.class);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        application.close();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @State(Scope.Thread)
+    public static class Filters {
+        private int next;
+
+        SearchJSFrameworkDto next() {
+            return FILTERS.get(next++ % FILTERS.size());
+        }
+    }
+
+    @Benchmark
+    public List<JSFrameworkDto> search(Filters filters) {
+        List<JSFrameworkDto> found = new ArrayList<>();
+        service.searchFrameworks(filters.next(), found::add);
+        return found;
+    }
+}
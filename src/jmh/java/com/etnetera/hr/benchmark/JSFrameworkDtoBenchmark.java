@@ -0,0 +1,46 @@
+package com.etnetera.hr.benchmark;
+
+import com.etnetera.hr.data.JavaScriptFramework;
+import com.etnetera.hr.dto.JSFrameworkDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping between {@link JavaScriptFramework} and {@link JSFrameworkDto}.
+ *
+ * @author Etnetera
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JSFrameworkDtoBenchmark {
+
+    private JavaScriptFramework entity;
+
+    private JSFrameworkDto dto;
+
+    @Setup
+    public void setUp() {
+        entity = JavaScriptFramework.builder()
+                .id(1L)
+                .name("framework")
+                .version(List.of("1.0.0", "1.1.0", "2.0.0"))
+                .deprecationDate(LocalDate.parse("2022-01-01"))
+                .hypeLevel(10)
+                .build();
+        dto = JSFrameworkDto.fromEntity(entity);
+    }
+
+    @Benchmark
+    public JSFrameworkDto fromEntity() {
+        return JSFrameworkDto.fromEntity(entity);
+    }
+
+    @Benchmark
+    public JavaScriptFramework toEntity() {
+        return dto.toEntity();
+    }
+}
@@ -0,0 +1,85 @@
+package com.etnetera.hr.benchmark;
+
+import com.etnetera.hr.dto.FrameworkPageDto;
+import com.etnetera.hr.dto.JSFrameworkDto;
+import com.etnetera.hr.service.JavaScriptFrameworkService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Jackson serialization of the list endpoint response, using the application's mappers of JSON and of the binary
+ * formats, with and without gzip as done by the server. Bytes on the wire of every format are printed once per trial.
+ *
+ * @author Etnetera
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ListSerializationBenchmark {
+
+    public enum Format {
+        JSON, CBOR, SMILE
+    }
+
+    @Param({"100", "1000", "10000"})
+    public int pageSize;
+
+    @Param
+    public Format format;
+
+    private BenchmarkApplication application;
+
+    private ObjectWriter writer;
+
+    private JSFrameworkDto[] page;
+
+    @Setup
+    public void setUp() throws IOException {
+        application = BenchmarkApplication.start(pageSize);
+        writer = mapper(format).writerFor(JSFrameworkDto[].class);
+        List<JSFrameworkDto> frameworks = application.getBean(JavaScriptFrameworkService.class)
+                .getFrameworks(new FrameworkPageDto(null, pageSize));
+        page = frameworks.toArray(new JSFrameworkDto[0]);
+        System.out.printf("%n%s of %d frameworks: %d bytes, %d bytes gzipped%n",
+                format, page.length, serializePage().length, serializeAndGzipPage().length);
+    }
+
+    @TearDown
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws IOException {
+        return writer.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] serializeAndGzipPage() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            writer.writeValue(gzip, page);
+        }
+        return bytes.toByteArray();
+    }
+
+    private ObjectMapper mapper(final Format format) {
+        switch (format) {
+            case CBOR:
+                return application.getBean(MappingJackson2CborHttpMessageConverter.class).getObjectMapper();
+            case SMILE:
+                return application.getBean(MappingJackson2SmileHttpMessageConverter.class).getObjectMapper();
+            default:
+                return application.getBean(ObjectMapper.class);
+        }
+    }
+}
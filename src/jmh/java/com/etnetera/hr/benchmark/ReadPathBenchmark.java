@@ -0,0 +1,104 @@
+package com.etnetera.hr.benchmark;
+
+import com.etnetera.hr.data.JavaScriptFramework;
+import com.etnetera.hr.dto.FrameworkFields;
+import com.etnetera.hr.dto.JSFrameworkDto;
+import com.etnetera.hr.dto.SearchJSFrameworkDto;
+import com.etnetera.hr.repository.JavaScriptFrameworkRepository;
+import com.etnetera.hr.repository.JavaScriptFrameworkSpecification;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Managed entities copied by {@link JSFrameworkDto#fromEntity} against projections grouped straight into dtos,
+ * both in a read-only transaction. Run with {@code -prof gc} to compare the allocation per operation.
+ *
+ * @author Etnetera
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReadPathBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    private static final JavaScriptFrameworkSpecification BY_VERSION =
+            new JavaScriptFrameworkSpecification(SearchJSFrameworkDto.builder().version(List.of("1.2.3")).build());
+
+    @Param({"10000"})
+    public int rows;
+
+    private BenchmarkApplication application;
+
+    private JavaScriptFrameworkRepository repository;
+
+    private EntityManager entityManager;
+
+    private TransactionTemplate transaction;
+
+    @Setup
+    public void setUp() {
+        application = BenchmarkApplication.start(rows);
+        repository = application.getBean(JavaScriptFrameworkRepository.class);
+        entityManager = application.getBean(EntityManager.class);
+        transaction = new TransactionTemplate(application.getBean(PlatformTransactionManager.class));
+        transaction.setReadOnly(true);
+    }
+
+    @TearDown
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    public Optional<JSFrameworkDto> byIdEntity() {
+        return transaction.execute(status -> repository.findById(42L).map(JSFrameworkDto::fromEntity));
+    }
+
+    @Benchmark
+    public Optional<JSFrameworkDto> byIdProjection() {
+        return transaction.execute(status -> repository.findDtoById(42L));
+    }
+
+    @Benchmark
+    public List<JSFrameworkDto> pageEntity() {
+        return transaction.execute(status -> entityManager
+                .createQuery("select f from JavaScriptFramework f where f.id > :after order by f.id", JavaScriptFramework.class)
+                .setParameter("after", 0L)
+                .setMaxResults(PAGE_SIZE)
+                .getResultList()
+                .stream()
+                .map(JSFrameworkDto::fromEntity)
+                .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public List<JSFrameworkDto> pageProjection() {
+        return transaction.execute(status -> repository.findDtoPage(0L, PAGE_SIZE, FrameworkFields.ALL));
+    }
+
+    @Benchmark
+    public List<JSFrameworkDto> searchEntity() {
+        return transaction.execute(status -> repository.findAll(BY_VERSION, Sort.by("name", "id")).stream()
+                .map(JSFrameworkDto::fromEntity)
+                .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public List<JSFrameworkDto> searchProjection() {
+        return transaction.execute(status -> {
+            try (Stream<JSFrameworkDto> found = repository.streamDtos(BY_VERSION)) {
+                return found.collect(Collectors.toList());
+            }
+        });
+    }
+}
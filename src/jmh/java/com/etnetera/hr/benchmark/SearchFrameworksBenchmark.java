@@ -0,0 +1,81 @@
+package com.etnetera.hr.benchmark;
+
+import com.etnetera.hr.dto.JSFrameworkDto;
+import com.etnetera.hr.dto.SearchJSFrameworkDto;
+import com.etnetera.hr.service.JavaScriptFrameworkService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JavaScriptFrameworkService#searchFrameworks(SearchJSFrameworkDto, java.util.function.Consumer)} against in-memory H2, without cache,
+ * and with the {@link com.etnetera.hr.search.ColumnarFrameworkIndex} if enabled.
+ *
+ * @author Etnetera
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SearchFrameworksBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    @Param({"false", "true"})
+    public boolean columnarIndex;
+
+    private BenchmarkApplication application;
+
+    private JavaScriptFrameworkService service;
+
+    @Setup
+    public void setUp() {
+        application = BenchmarkApplication.start(rows, "frameworks.columnar-index.enabled=" + columnarIndex);
+        service = application.getBean(JavaScriptFrameworkService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    public List<JSFrameworkDto> byName() {
+        return search(SearchJSFrameworkDto.builder().name("rk-42").build());
+    }
+
+    @Benchmark
+    public List<JSFrameworkDto> byVersion() {
+        return search(SearchJSFrameworkDto.builder().version(List.of("1.2.3")).build());
+    }
+
+    @Benchmark
+    public List<JSFrameworkDto> byNarrowRanges() {
+        return search(SearchJSFrameworkDto.builder()
+                .deprecationDateAfter(LocalDate.parse("2020-01-01"))
+                .deprecationDateBefore(LocalDate.parse("2020-01-05"))
+                .minHypeLevel(90)
+                .build());
+    }
+
+    @Benchmark
+    public List<JSFrameworkDto> byAllFilters() {
+        return search(SearchJSFrameworkDto.builder()
+                .name("framework-1")
+                .version(List.of("1.2.3", "2.0.0"))
+                .deprecationDateAfter(LocalDate.parse("2018-01-01"))
+                .deprecationDateBefore(LocalDate.parse("2022-01-01"))
+                .minHypeLevel(10)
+                .maxHypeLevel(20)
+                .build());
+    }
+
+    private List<JSFrameworkDto> search(SearchJSFrameworkDto filter) {
+        List<JSFrameworkDto> found = new ArrayList<>();
+        service.searchFrameworks(filter, found::add);
+        return found;
+    }
+}
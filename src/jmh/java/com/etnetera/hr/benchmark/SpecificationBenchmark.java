@@ -0,0 +1,61 @@
+package com.etnetera.hr.benchmark;
+
+import com.etnetera.hr.data.JavaScriptFramework;
+import com.etnetera.hr.dto.SearchJSFrameworkDto;
+import com.etnetera.hr.repository.JavaScriptFrameworkSpecification;
+import org.openjdk.jmh.annotations.*;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construction of the search predicate by {@link JavaScriptFrameworkSpecification}.
+ *
+ * @author Etnetera
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SpecificationBenchmark {
+
+    private BenchmarkApplication application;
+
+    private EntityManager entityManager;
+
+    private SearchJSFrameworkDto allFilters;
+
+    @Setup
+    public void setUp() {
+        application = BenchmarkApplication.start(0);
+        entityManager = application.getBean(EntityManagerFactory.class).createEntityManager();
+        allFilters = SearchJSFrameworkDto.builder()
+                .name("framework")
+                .version(List.of("1.0.0", "2.0.0"))
+                .deprecationDateAfter(LocalDate.parse("2018-01-01"))
+                .deprecationDateBefore(LocalDate.parse("2022-01-01"))
+                .minHypeLevel(10)
+                .maxHypeLevel(90)
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        entityManager.close();
+        application.close();
+    }
+
+    @Benchmark
+    public Predicate toPredicate() {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<JavaScriptFramework> query = cb.createQuery(JavaScriptFramework.class);
+        Root<JavaScriptFramework> root = query.from(JavaScriptFramework.class);
+        return new JavaScriptFrameworkSpecification(allFilters).toPredicate(root, query, cb);
+    }
+}
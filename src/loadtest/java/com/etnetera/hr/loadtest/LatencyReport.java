@@ -0,0 +1,156 @@
+package com.etnetera.hr.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and errors of the requests of every operation during one run of {@link LoadGenerator}.
+ * Latencies are recorded in microseconds from the time the request was scheduled, not sent, so a stalled
+ * application delays the requests behind it and they report the stall as well.
+ * <p>
+ * The report is read once it is {@link #close(int) closed}, requests completing later are not part of it.
+ *
+ * @author Etnetera
+ */
+class LatencyReport {
+
+    private static final long HIGHEST_LATENCY = TimeUnit.MINUTES.toMicros(10);
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+    private final Duration duration;
+
+    /**
+     * Latencies and errors recorded until the report was closed, read by the report
+     */
+    private final Map<Operation, Histogram> recorded = new EnumMap<>(Operation.class);
+
+    private final Map<Operation, Long> failed = new EnumMap<>(Operation.class);
+
+    private int unfinished;
+
+    LatencyReport(final Duration duration) {
+        this.duration = duration;
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new ConcurrentHistogram(HIGHEST_LATENCY, SIGNIFICANT_DIGITS));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    /**
+     * Record a completed request
+     *
+     * @param operation      operation of the request
+     * @param latencyNanos   time from the scheduled start of the request to its response
+     * @param succeeded      whether the response is a success of the operation
+     */
+    void record(final Operation operation, final long latencyNanos, final boolean succeeded) {
+        latencies.get(operation).recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_LATENCY));
+        if (!succeeded) {
+            errors.get(operation).increment();
+        }
+    }
+
+    /**
+     * End the report, later requests are recorded only in the live histograms, which are no longer read
+     *
+     * @param unfinished requests still in flight, counted as missed objectives
+     */
+    void close(final int unfinished) {
+        this.unfinished = unfinished;
+        latencies.forEach((operation, histogram) -> recorded.put(operation, histogram.copy()));
+        errors.forEach((operation, count) -> failed.put(operation, count.sum()));
+    }
+
+    /**
+     * Print requests, errors, throughput and latency percentiles in milliseconds of every operation
+     *
+     * @param out stream to print to
+     */
+    void print(final PrintStream out) {
+        out.printf("%-8s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        recorded.forEach((operation, histogram) -> out.printf("%-8s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                operation,
+                histogram.getTotalCount(),
+                failed.get(operation),
+                histogram.getTotalCount() / (duration.toMillis() / 1000.0),
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue())));
+        if (unfinished > 0) {
+            out.printf("%d requests did not complete before the end of the run%n", unfinished);
+        }
+    }
+
+    /**
+     * Write the latency distribution of every operation in milliseconds to {@code <operation>.hgrm},
+     * which can be plotted e.g. by the HdrHistogram plotter
+     *
+     * @param directory directory of the files
+     * @throws IOException if a file can not be written
+     */
+    void write(final File directory) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Can not create report directory " + directory);
+        }
+        for (Map.Entry<Operation, Histogram> latency : recorded.entrySet()) {
+            try (PrintStream out = new PrintStream(new File(directory, latency.getKey().name().toLowerCase() + ".hgrm"))) {
+                latency.getValue().outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+    }
+
+    /**
+     * @param objectives objectives of the operations
+     * @return descriptions of the missed objectives
+     */
+    List<String> violations(final Map<Operation, LoadTestProperties.Slo> objectives) {
+        List<String> violations = new ArrayList<>();
+        if (unfinished > 0) {
+            violations.add(unfinished + " requests did not complete");
+        }
+        objectives.forEach((operation, slo) -> {
+            Histogram histogram = recorded.get(operation);
+            check(violations, operation, "p50", histogram.getValueAtPercentile(50), slo.getP50());
+            check(violations, operation, "p99", histogram.getValueAtPercentile(99), slo.getP99());
+            long requests = histogram.getTotalCount();
+            double errorRate = requests == 0 ? 0 : (double) failed.get(operation) / requests;
+            if (slo.getMaximumErrorRate() != null && errorRate > slo.getMaximumErrorRate()) {
+                violations.add(String.format("%s error rate %.4f exceeds %.4f", operation, errorRate, slo.getMaximumErrorRate()));
+            }
+        });
+        return violations;
+    }
+
+    private static void check(final List<String> violations, final Operation operation, final String percentile,
+                              final long latencyMicros, final Duration objective) {
+        if (objective != null && latencyMicros > TimeUnit.NANOSECONDS.toMicros(objective.toNanos())) {
+            violations.add(String.format("%s %s latency %.2f ms exceeds %d ms",
+                    operation, percentile, millis(latencyMicros), objective.toMillis()));
+        }
+    }
+
+    private static double millis(final long micros) {
+        return micros / MICROS_PER_MILLI;
+    }
+}
@@ -0,0 +1,193 @@
+package com.etnetera.hr.loadtest;
+
+import com.etnetera.hr.dto.JSFrameworkDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load: requests are started at a fixed rate whether or not the previous ones completed, as requests of
+ * independent users would be. The operation of every request is drawn from the configured mix.
+ *
+ * @author Etnetera
+ */
+class LoadGenerator {
+
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final LoadTestProperties properties;
+
+    private final Random random;
+
+    private final SyntheticCatalog catalog;
+
+    private final ObjectMapper objectMapper;
+
+    private final URI frameworks;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * Ids of existing frameworks, guarded by itself
+     */
+    private final List<Long> ids;
+
+    private final Operation[] operations;
+
+    private final int[] cumulativeWeights;
+
+    LoadGenerator(final LoadTestProperties properties, final Random random, final SyntheticCatalog catalog,
+                  final ObjectMapper objectMapper, final int port, final List<Long> ids) {
+        this.properties = properties;
+        this.random = random;
+        this.catalog = catalog;
+        this.objectMapper = objectMapper;
+        this.frameworks = URI.create("http://localhost:" + port + "/frameworks");
+        this.ids = new ArrayList<>(ids);
+        this.operations = properties.getMix().keySet().toArray(new Operation[0]);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += properties.getMix().get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("The operation mix has no weight");
+        }
+    }
+
+    /**
+     * Drive the load for the duration, then wait up to the drain timeout for the requests in flight
+     *
+     * @param duration duration of the load
+     * @return latencies of the requests
+     */
+    LatencyReport run(final Duration duration) {
+        LatencyReport report = new LatencyReport(duration);
+        long interval = TimeUnit.SECONDS.toNanos(1) / properties.getRate();
+        long start = System.nanoTime();
+        for (long i = 0; i * interval < duration.toNanos(); i++) {
+            long scheduled = start + i * interval;
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            send(nextOperation(), scheduled, report);
+        }
+        long drainDeadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        report.close(inFlight.get());
+        return report;
+    }
+
+    private void send(final Operation operation, final long scheduled, final LatencyReport report) {
+        HttpRequest request = request(operation);
+        // only this thread starts requests, so the limit holds without reserving a slot first
+        if (request == null || inFlight.get() >= properties.getMaximumInFlight()) {
+            report.record(operation, System.nanoTime() - scheduled, false);
+            return;
+        }
+        inFlight.incrementAndGet();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+            long latency = System.nanoTime() - scheduled;
+            boolean succeeded = error == null && operation.succeeded(response.statusCode());
+            if (succeeded && operation == Operation.CREATE) {
+                response.headers().firstValue("Location").ifPresent(this::addCreated);
+            }
+            report.record(operation, latency, succeeded);
+            inFlight.decrementAndGet();
+        });
+    }
+
+    /**
+     * @return request of the operation, null if there is no framework to operate on
+     */
+    private HttpRequest request(final Operation operation) {
+        switch (operation) {
+            case LIST:
+                return get(frameworks + "?limit=100");
+            case BY_ID:
+                Long id = existingId(false);
+                return id == null ? null : get(frameworks + "/" + id);
+            case SEARCH:
+                int minHypeLevel = catalog.hypeLevel();
+                return get(frameworks + "/search?name=" + catalog.name(2)
+                        + "&minHypeLevel=" + minHypeLevel
+                        + "&maxHypeLevel=" + (minHypeLevel + 10));
+            case CREATE:
+                return HttpRequest.newBuilder(frameworks).POST(body(catalog.framework())).header("Content-Type", "application/json").build();
+            case EDIT:
+                Long edited = existingId(false);
+                return edited == null ? null : HttpRequest.newBuilder(URI.create(frameworks + "/" + edited))
+                        .PUT(body(catalog.framework()))
+                        .header("Content-Type", "application/json")
+                        .build();
+            default:
+                Long deleted = existingId(true);
+                return deleted == null ? null : HttpRequest.newBuilder(URI.create(frameworks + "/" + deleted)).DELETE().build();
+        }
+    }
+
+    private Operation nextOperation() {
+        int drawn = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < operations.length; i++) {
+            if (drawn < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException("Weight out of the mix: " + drawn);
+    }
+
+    /**
+     * @param remove whether to forget the id, for deletes
+     * @return random id of an existing framework, null if there is none
+     */
+    private Long existingId(final boolean remove) {
+        synchronized (ids) {
+            if (ids.isEmpty()) {
+                return null;
+            }
+            int index = random.nextInt(ids.size());
+            Long id = ids.get(index);
+            if (remove) {
+                ids.set(index, ids.get(ids.size() - 1));
+                ids.remove(ids.size() - 1);
+            }
+            return id;
+        }
+    }
+
+    private void addCreated(final String location) {
+        Long id = Long.valueOf(location.substring(location.lastIndexOf('/') + 1));
+        synchronized (ids) {
+            ids.add(id);
+        }
+    }
+
+    private static HttpRequest get(final String uri) {
+        return HttpRequest.newBuilder(URI.create(uri)).GET().build();
+    }
+
+    private HttpRequest.BodyPublisher body(final JSFrameworkDto framework) {
+        try {
+            return HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(framework));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Framework not serializable", e);
+        }
+    }
+}
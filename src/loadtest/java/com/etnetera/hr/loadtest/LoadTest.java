@@ -0,0 +1,57 @@
+package com.etnetera.hr.loadtest;
+
+import com.etnetera.hr.Application;
+import com.etnetera.hr.service.JavaScriptFrameworkService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Load test of the API: starts the application with the {@code loadtest} profile on a random port, seeds its
+ * in-memory db with a {@link SyntheticCatalog}, drives it by the {@link LoadGenerator} and reports latencies per
+ * operation. Exits with status 1 if a {@link LoadTestProperties#getSlo() service level objective} is missed,
+ * which fails the build running it.
+ * <p>
+ * Settings are read from {@code application-loadtest.yml} and can be overridden by arguments,
+ * e.g. {@code --loadtest.rate=500}.
+ *
+ * @author Etnetera
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        List<String> violations;
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(Application.class)
+                .profiles("loadtest")
+                .run(args);
+        try {
+            LoadTestProperties properties = Binder.get(context.getEnvironment())
+                    .bind("loadtest", LoadTestProperties.class)
+                    .orElseGet(LoadTestProperties::new);
+            Random random = new Random(properties.getSeed());
+            SyntheticCatalog catalog = new SyntheticCatalog(properties.getCatalog(), random);
+            List<Long> ids = catalog.seed(context.getBean(JavaScriptFrameworkService.class));
+            LoadGenerator generator = new LoadGenerator(properties, random, catalog, context.getBean(ObjectMapper.class),
+                    context.getEnvironment().getRequiredProperty("local.server.port", Integer.class), ids);
+
+            System.out.printf("Seeded %d frameworks, warming up for %s%n", ids.size(), properties.getWarmup());
+            generator.run(properties.getWarmup());
+            System.out.printf("Measuring %d requests per second for %s%n", properties.getRate(), properties.getDuration());
+            LatencyReport report = generator.run(properties.getDuration());
+            report.print(System.out);
+            report.write(properties.getReportDirectory());
+            violations = report.violations(properties.getSlo());
+        } finally {
+            context.close();
+        }
+        violations.forEach(violation -> System.err.println("SLO missed: " + violation));
+        System.exit(violations.isEmpty() ? 0 : 1);
+    }
+}
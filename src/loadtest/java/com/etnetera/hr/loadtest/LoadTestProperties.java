@@ -0,0 +1,107 @@
+package com.etnetera.hr.loadtest;
+
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.io.File;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Configuration of {@link LoadTest}, bound from the {@code loadtest} properties.
+ *
+ * @author Etnetera
+ */
+@Data
+public class LoadTestProperties {
+
+    /**
+     * Seed of all random choices, the same seed generates the same catalog and the same sequence of operations
+     */
+    private long seed = 42;
+
+    private Catalog catalog = new Catalog();
+
+    /**
+     * Requests started per second, regardless of how fast the responses come
+     */
+    private int rate = 200;
+
+    /**
+     * Load before the measurement, its latencies are discarded
+     */
+    private Duration warmup = Duration.ofSeconds(10);
+
+    /**
+     * Measured load
+     */
+    private Duration duration = Duration.ofSeconds(60);
+
+    /**
+     * Requests in flight above which further requests fail without being sent
+     */
+    private int maximumInFlight = 10_000;
+
+    /**
+     * Relative weights of the operations
+     */
+    private Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+
+    /**
+     * Service level objectives of the operations, the load test fails if one is missed
+     */
+    private Map<Operation, Slo> slo = new EnumMap<>(Operation.class);
+
+    /**
+     * Directory of the latency distributions of the operations
+     */
+    private File reportDirectory = new File("build/reports/loadtest");
+
+    /**
+     * Distribution of the synthetic frameworks seeded before the load, every value is uniform in its range
+     */
+    @Data
+    public static class Catalog {
+
+        private int frameworks = 10_000;
+
+        private int minimumNameLength = 4;
+
+        /**
+         * At most the length of the name column
+         */
+        private int maximumNameLength = 20;
+
+        private int minimumVersions = 1;
+
+        private int maximumVersions = 4;
+
+        private int minimumHypeLevel = 0;
+
+        private int maximumHypeLevel = 100;
+
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        private LocalDate firstDeprecationDate = LocalDate.parse("2015-01-01");
+
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        private LocalDate lastDeprecationDate = LocalDate.parse("2030-12-31");
+    }
+
+    /**
+     * Objectives of one operation, unset ones are not checked
+     */
+    @Data
+    public static class Slo {
+
+        private Duration p50;
+
+        private Duration p99;
+
+        /**
+         * Maximum share of failed requests, between 0 and 1
+         */
+        private Double maximumErrorRate;
+    }
+}
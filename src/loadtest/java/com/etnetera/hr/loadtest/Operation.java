@@ -0,0 +1,27 @@
+package com.etnetera.hr.loadtest;
+
+/**
+ * Operation of the API driven by {@link LoadGenerator}.
+ *
+ * @author Etnetera
+ */
+public enum Operation {
+    LIST,
+    BY_ID,
+    SEARCH,
+    CREATE,
+    EDIT,
+    DELETE;
+
+    /**
+     * A framework can be deleted by another request between choosing its id and the request, so not found is
+     * a valid response of the operations on one framework
+     *
+     * @param status status of the response
+     * @return true if the request succeeded
+     */
+    boolean succeeded(final int status) {
+        boolean notFoundAllowed = this == BY_ID || this == EDIT || this == DELETE;
+        return (status >= 200 && status < 300) || (notFoundAllowed && status == 404);
+    }
+}
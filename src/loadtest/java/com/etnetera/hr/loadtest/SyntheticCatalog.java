@@ -0,0 +1,101 @@
+package com.etnetera.hr.loadtest;
+
+import com.etnetera.hr.dto.BulkItemResultDto;
+import com.etnetera.hr.dto.JSFrameworkDto;
+import com.etnetera.hr.service.JavaScriptFrameworkService;
+
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Reproducible synthetic frameworks distributed by {@link LoadTestProperties.Catalog}.
+ *
+ * @author Etnetera
+ */
+class SyntheticCatalog {
+
+    private static final String NAME_CHARACTERS = "abcdefghijklmnopqrstuvwxyz-";
+
+    private static final int SEED_CHUNK = 10_000;
+
+    private final LoadTestProperties.Catalog catalog;
+
+    private final Random random;
+
+    SyntheticCatalog(final LoadTestProperties.Catalog catalog, final Random random) {
+        this.catalog = catalog;
+        this.random = random;
+    }
+
+    /**
+     * Create the frameworks of the catalog through the service, so caches and indexes see them as well
+     *
+     * @param service service to create the frameworks with
+     * @return ids of the created frameworks
+     */
+    List<Long> seed(final JavaScriptFrameworkService service) {
+        List<Long> ids = new ArrayList<>(catalog.getFrameworks());
+        for (int created = 0; created < catalog.getFrameworks(); created += SEED_CHUNK) {
+            List<JSFrameworkDto> chunk = new ArrayList<>();
+            for (int i = created; i < Math.min(created + SEED_CHUNK, catalog.getFrameworks()); i++) {
+                chunk.add(framework());
+            }
+            for (BulkItemResultDto result : service.createFrameworks(chunk)) {
+                if (result.getStatus() != BulkItemResultDto.Status.CREATED) {
+                    throw new IllegalStateException("Framework not seeded: " + result);
+                }
+                ids.add(result.getId());
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * @return next random framework
+     */
+    JSFrameworkDto framework() {
+        List<String> versions = new ArrayList<>();
+        for (int i = between(catalog.getMinimumVersions(), catalog.getMaximumVersions()); i > 0; i--) {
+            versions.add(version());
+        }
+        long deprecationDays = ChronoUnit.DAYS.between(catalog.getFirstDeprecationDate(), catalog.getLastDeprecationDate());
+        return JSFrameworkDto.builder()
+                .name(name(between(catalog.getMinimumNameLength(), catalog.getMaximumNameLength())))
+                .version(versions)
+                .deprecationDate(catalog.getFirstDeprecationDate().plusDays((long) (random.nextDouble() * (deprecationDays + 1))))
+                .hypeLevel(between(catalog.getMinimumHypeLevel(), catalog.getMaximumHypeLevel()))
+                .build();
+    }
+
+    /**
+     * @return random semantic version
+     */
+    String version() {
+        return random.nextInt(5) + "." + random.nextInt(10) + "." + random.nextInt(10);
+    }
+
+    /**
+     * @param length length of the name
+     * @return random name, starting with a letter
+     */
+    String name(final int length) {
+        StringBuilder name = new StringBuilder(length).append(NAME_CHARACTERS.charAt(random.nextInt(NAME_CHARACTERS.length() - 1)));
+        while (name.length() < length) {
+            name.append(NAME_CHARACTERS.charAt(random.nextInt(NAME_CHARACTERS.length())));
+        }
+        return name.toString();
+    }
+
+    /**
+     * @return random hype level of the catalog
+     */
+    int hypeLevel() {
+        return between(catalog.getMinimumHypeLevel(), catalog.getMaximumHypeLevel());
+    }
+
+    private int between(final int minimum, final int maximum) {
+        return minimum + random.nextInt(maximum - minimum + 1);
+    }
+}
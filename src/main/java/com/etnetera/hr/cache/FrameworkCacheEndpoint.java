@@ -0,0 +1,45 @@
+package com.etnetera.hr.cache;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint exposing hit, miss and eviction counters of {@link JavaScriptFrameworkCache}.
+ *
+ * @author Etnetera
+ */
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "frameworkcache")
+public class FrameworkCacheEndpoint {
+
+    private final JavaScriptFrameworkCache cache;
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        return Map.of(
+                "enabled", cache.isEnabled(),
+                "frameworks", toMap(cache.frameworkStats()),
+                "searches", toMap(cache.searchStats())
+        );
+    }
+
+    @DeleteOperation
+    public void clear() {
+        cache.clear();
+    }
+
+    private static Map<String, Long> toMap(final CacheStats stats) {
+        return Map.of(
+                "hits", stats.hitCount(),
+                "misses", stats.missCount(),
+                "evictions", stats.evictionCount()
+        );
+    }
+}
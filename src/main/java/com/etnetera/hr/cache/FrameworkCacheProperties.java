@@ -0,0 +1,43 @@
+package com.etnetera.hr.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration of {@link JavaScriptFrameworkCache}.
+ *
+ * @author Etnetera
+ */
+@Data
+@Component
+@ConfigurationProperties("frameworks.cache")
+public class FrameworkCacheProperties {
+
+    /**
+     * Turns the cache off, every read then goes to db
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of frameworks cached by id
+     */
+    private long maximumFrameworks = 10_000;
+
+    /**
+     * Maximum number of frameworks held by all cached search results together
+     */
+    private long maximumSearchResultFrameworks = 100_000;
+
+    /**
+     * Maximum number of frameworks of a single cached search result, larger results are only streamed
+     */
+    private int maximumSearchResultSize = 1_000;
+
+    /**
+     * Time after which an entry expires regardless of writes
+     */
+    private Duration timeToLive = Duration.ofMinutes(10);
+}
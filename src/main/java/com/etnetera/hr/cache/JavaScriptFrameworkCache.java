@@ -0,0 +1,204 @@
+package com.etnetera.hr.cache;
+
+import com.etnetera.hr.dto.JSFrameworkDto;
+import com.etnetera.hr.dto.SearchJSFrameworkDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Bounded read-through cache of frameworks by id and of small search results by normalized filter.
+ * <p>
+ * Writes have to be reported through {@link #evict(JSFrameworkDto, JSFrameworkDto)}, which removes the id entry
+ * and only the search results the written framework could appear in. Values loaded while a write happened are
+ * returned but not cached, so a slow load can not put back data the write has just invalidated. A loaded value
+ * is put first and removed again if a write started in the meantime, a write reported between the check and
+ * the put could otherwise be missed.
+ *
+ * @author Etnetera
+ */
+@Component
+public class JavaScriptFrameworkCache {
+
+    private final boolean enabled;
+
+    private final int maximumSearchResultSize;
+
+    private final Cache<Long, JSFrameworkDto> frameworks;
+
+    private final Cache<SearchJSFrameworkDto, List<JSFrameworkDto>> searches;
+
+    private final AtomicLong writes = new AtomicLong();
+
+    public JavaScriptFrameworkCache(final FrameworkCacheProperties properties) {
+        this.enabled = properties.isEnabled();
+        this.maximumSearchResultSize = properties.getMaximumSearchResultSize();
+        this.frameworks = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumFrameworks())
+                .expireAfterWrite(properties.getTimeToLive())
+                .recordStats()
+                .build();
+        this.searches = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaximumSearchResultFrameworks())
+                .<SearchJSFrameworkDto, List<JSFrameworkDto>>weigher((filter, result) -> result.size() + 1)
+                .expireAfterWrite(properties.getTimeToLive())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Get framework by id, loading and caching it on miss
+     *
+     * @param id     of framework
+     * @param loader db lookup
+     * @return found framework
+     */
+    public Optional<JSFrameworkDto> getById(final Long id, final Supplier<Optional<JSFrameworkDto>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        JSFrameworkDto cached = frameworks.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        long generation = writes.get();
+        Optional<JSFrameworkDto> loaded = loader.get();
+        loaded.ifPresent(framework -> {
+            frameworks.put(id, framework);
+            if (generation != writes.get()) {
+                frameworks.invalidate(id);
+            }
+        });
+        return loaded;
+    }
+
+    /**
+     * Get frameworks by ids, loading and caching all missed ones at once
+     *
+     * @param ids    of frameworks
+     * @param loader db lookup of the missed ids, returning found frameworks by id
+     * @return found frameworks by id, ids without a framework are left out
+     */
+    public Map<Long, JSFrameworkDto> getAllById(final Collection<Long> ids,
+                                                final Function<Set<Long>, Map<Long, JSFrameworkDto>> loader) {
+        if (!enabled) {
+            return loader.apply(new LinkedHashSet<>(ids));
+        }
+        Map<Long, JSFrameworkDto> found = new HashMap<>(frameworks.getAllPresent(ids));
+        Set<Long> missed = new LinkedHashSet<>(ids);
+        missed.removeAll(found.keySet());
+        if (missed.isEmpty()) {
+            return found;
+        }
+        long generation = writes.get();
+        Map<Long, JSFrameworkDto> loaded = loader.apply(missed);
+        frameworks.putAll(loaded);
+        if (generation != writes.get()) {
+            frameworks.invalidateAll(loaded.keySet());
+        }
+        found.putAll(loaded);
+        return found;
+    }
+
+    /**
+     * Get framework by id if cached
+     *
+     * @param id of framework
+     * @return cached framework
+     */
+    public Optional<JSFrameworkDto> getIfPresent(final Long id) {
+        return enabled ? Optional.ofNullable(frameworks.getIfPresent(id)) : Optional.empty();
+    }
+
+    /**
+     * Pass search result to the consumer, from cache or as the loader streams it.
+     * A streamed result is cached only if it has at most
+     * {@link FrameworkCacheProperties#getMaximumSearchResultSize()} frameworks and was fully consumed.
+     *
+     * @param filter   search filter, normalized before use as a key
+     * @param consumer receiver of the found frameworks
+     * @param loader   db search passing the found frameworks to the given consumer
+     */
+    public void search(final SearchJSFrameworkDto filter,
+                       final Consumer<JSFrameworkDto> consumer,
+                       final Consumer<Consumer<JSFrameworkDto>> loader) {
+        if (!enabled) {
+            loader.accept(consumer);
+            return;
+        }
+        SearchJSFrameworkDto key = filter.normalized();
+        List<JSFrameworkDto> cached = searches.getIfPresent(key);
+        if (cached != null) {
+            cached.forEach(consumer);
+            return;
+        }
+        long generation = writes.get();
+        List<JSFrameworkDto> loaded = new ArrayList<>();
+        loader.accept(framework -> {
+            if (loaded.size() <= maximumSearchResultSize) {
+                loaded.add(framework);
+            }
+            consumer.accept(framework);
+        });
+        if (loaded.size() <= maximumSearchResultSize) {
+            searches.put(key, List.copyOf(loaded));
+            if (generation != writes.get()) {
+                searches.invalidate(key);
+            }
+        }
+    }
+
+    /**
+     * Invalidate entries affected by a write
+     *
+     * @param before framework state before the write, null for create
+     * @param after  framework state after the write, null for delete
+     */
+    public void evict(final JSFrameworkDto before, final JSFrameworkDto after) {
+        writes.incrementAndGet();
+        if (before != null) {
+            frameworks.invalidate(before.getId());
+        }
+        if (after != null) {
+            frameworks.invalidate(after.getId());
+        }
+        searches.asMap().keySet().removeIf(filter ->
+                (before != null && filter.matches(before)) || (after != null && filter.matches(after))
+        );
+    }
+
+    /**
+     * Drop all entries
+     */
+    public void clear() {
+        writes.incrementAndGet();
+        frameworks.invalidateAll();
+        searches.invalidateAll();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public CacheStats frameworkStats() {
+        return frameworks.stats();
+    }
+
+    public CacheStats searchStats() {
+        return searches.stats();
+    }
+}
@@ -0,0 +1,76 @@
+package com.etnetera.hr.cache;
+
+import com.etnetera.hr.data.JavaScriptFramework;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level and query cache backed by Caffeine through JCache.
+ * <p>
+ * Every region is created up front with the size and expiry of {@link SecondLevelCacheProperties}, a region missing
+ * here fails the startup. Hits, misses and puts of every region are published as {@code cache.*} metrics.
+ *
+ * @author Etnetera
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "frameworks.second-level-cache", name = "enabled", matchIfMissing = true)
+public class SecondLevelCacheConfiguration {
+
+    /**
+     * Cache manager of this application context only, so contexts in one JVM, e.g. of tests, do not share entries
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(final SecondLevelCacheProperties properties, final MeterRegistry meterRegistry) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("frameworks-" + UUID.randomUUID()), getClass().getClassLoader());
+        createRegion(cacheManager, JavaScriptFramework.CACHE_REGION, properties.getFrameworks(), meterRegistry);
+        createRegion(cacheManager, JavaScriptFramework.VERSIONS_CACHE_REGION, properties.getVersions(), meterRegistry);
+        createRegion(cacheManager, JavaScriptFramework.QUERY_CACHE_REGION, properties.getQueries(), meterRegistry);
+        createRegion(cacheManager, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, properties.getQueries(), meterRegistry);
+        // timestamps of the last write to every table, they must outlive any cached query
+        createRegion(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, null, meterRegistry);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCache(final CacheManager secondLevelCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private static void createRegion(final CacheManager cacheManager, final String name,
+                                     final SecondLevelCacheProperties.Region region, final MeterRegistry meterRegistry) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        // entries are immutable cache entries of Hibernate, copying them on every access would be wasted
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        if (region != null) {
+            configuration.setMaximumSize(OptionalLong.of(region.getMaximumSize()));
+            configuration.setExpireAfterWrite(OptionalLong.of(region.getTimeToLive().toNanos()));
+        }
+        Cache<Object, Object> cache = cacheManager.createCache(name, configuration);
+        JCacheMetrics.monitor(meterRegistry, cache, Tags.of("cacheType", "second-level"));
+    }
+}
@@ -0,0 +1,56 @@
+package com.etnetera.hr.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the Hibernate second-level cache regions, see {@link SecondLevelCacheConfiguration}.
+ *
+ * @author Etnetera
+ */
+@Data
+@Component
+@ConfigurationProperties("frameworks.second-level-cache")
+public class SecondLevelCacheProperties {
+
+    /**
+     * Turns the second-level and query caches off
+     */
+    private boolean enabled = true;
+
+    /**
+     * Region of framework entities
+     */
+    private Region frameworks = new Region(10_000, Duration.ofMinutes(10));
+
+    /**
+     * Region of framework version collections
+     */
+    private Region versions = new Region(10_000, Duration.ofMinutes(10));
+
+    /**
+     * Region of cached query results, invalidated by any write to the framework tables
+     */
+    private Region queries = new Region(1_000, Duration.ofMinutes(1));
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Region {
+
+        /**
+         * Maximum number of entries
+         */
+        private long maximumSize;
+
+        /**
+         * Time after which an entry expires regardless of writes
+         */
+        private Duration timeToLive;
+    }
+}
@@ -0,0 +1,295 @@
+package com.etnetera.hr.changes;
+
+import com.etnetera.hr.dto.FrameworkChangeDto;
+import com.etnetera.hr.dto.FrameworkChangesDto;
+import com.etnetera.hr.dto.JSFrameworkDto;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Ordered in-memory log of committed framework writes, reported by the service after every write.
+ * <p>
+ * The last {@link FrameworkChangeProperties#getRetention()} changes are kept in a ring. Consumers read the changes
+ * following the last sequence they have seen, a consumer whose sequence is no longer retained is told to resync.
+ * Sequences start at the start time of the application in microseconds, so sequences of a restarted application
+ * are greater than those of the previous one and its consumers resync. Waiting consumers are notified by a single
+ * notifier thread, never by the writing thread. The notifier only queues changes for subscribers, every subscriber
+ * receives them on a thread of its own, so a slow subscriber does not delay the others. A subscriber further
+ * behind than {@link FrameworkChangeProperties#getSubscriberQueueSize()} batches is told to resync.
+ * <p>
+ * Writes are reported after their commit, so two concurrent writes of one framework can be reported in the opposite
+ * order of their commits. Every change carries the revision of the framework after it, and a change whose revision
+ * is not greater than the one of the last retained change of the same framework is dropped, as that change already
+ * holds a later state. Changes of one framework are thus in the order of their commits, as long as the later one
+ * is still retained when the earlier one is reported.
+ *
+ * @author Etnetera
+ */
+@Slf4j
+@Component
+public class FrameworkChangeLog {
+
+    private final FrameworkChangeProperties properties;
+
+    private final FrameworkChangeDto[] ring;
+
+    /**
+     * Sequence of the first change of this log
+     */
+    private final long first;
+
+    /**
+     * Sequence of the last change, guarded by this
+     */
+    private long last;
+
+    /**
+     * Revision of the last retained change of every framework, guarded by this
+     */
+    private final Map<Long, Long> revisions = new HashMap<>();
+
+    private final Set<Runnable> listeners = ConcurrentHashMap.newKeySet();
+
+    private final AtomicBoolean notifying = new AtomicBoolean();
+
+    private final ExecutorService notifier = Executors.newSingleThreadExecutor(task -> new Thread(task, "framework-changes"));
+
+    private final ExecutorService receivers = Executors.newCachedThreadPool(task -> new Thread(task, "framework-change-receiver"));
+
+    public FrameworkChangeLog(final FrameworkChangeProperties properties, final MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.ring = new FrameworkChangeDto[properties.getRetention()];
+        this.first = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+        this.last = first - 1;
+        Gauge.builder("frameworks.changes.consumers", listeners, Set::size)
+                .description("Consumers waiting for framework changes")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() {
+        notifier.shutdownNow();
+        receivers.shutdownNow();
+    }
+
+    /**
+     * Append a committed write and notify waiting consumers, unless a later write of the framework was appended
+     *
+     * @param before framework before the write, null for create
+     * @param after  framework after the write, null for delete
+     */
+    public void append(final JSFrameworkDto before, final JSFrameworkDto after) {
+        FrameworkChangeDto.Type type = before == null
+                ? FrameworkChangeDto.Type.CREATED
+                : after == null ? FrameworkChangeDto.Type.DELETED : FrameworkChangeDto.Type.UPDATED;
+        Long id = after != null ? after.getId() : before.getId();
+        // a delete is one more change of the deleted revision
+        Long revision = after != null ? after.getRevision() : before.getRevision() == null ? null : before.getRevision() + 1;
+        synchronized (this) {
+            Long appended = revisions.get(id);
+            if (revision != null && appended != null && appended >= revision) {
+                return;
+            }
+            last++;
+            FrameworkChangeDto evicted = ring[index(last)];
+            if (evicted != null) {
+                revisions.remove(evicted.getId(), evicted.getRevision());
+            }
+            ring[index(last)] = FrameworkChangeDto.builder()
+                    .sequence(last)
+                    .type(type)
+                    .id(id)
+                    .revision(revision)
+                    .framework(after)
+                    .timestamp(Instant.now())
+                    .build();
+            if (revision != null) {
+                revisions.put(id, revision);
+            }
+        }
+        if (!listeners.isEmpty() && notifying.compareAndSet(false, true)) {
+            notifier.execute(() -> {
+                notifying.set(false);
+                listeners.forEach(Runnable::run);
+            });
+        }
+    }
+
+    /**
+     * @return sequence of the last change, to continue from when all frameworks were read
+     */
+    public synchronized long lastSequence() {
+        return last;
+    }
+
+    /**
+     * Read changes following the sequence, at most {@link FrameworkChangeProperties#getMaximumChanges()}
+     *
+     * @param since sequence of the last seen change, null for the last change of the log
+     * @return changes following the sequence, or resync if they are no longer retained
+     */
+    public FrameworkChangesDto read(final Long since) {
+        return read(since, Long.MAX_VALUE);
+    }
+
+    /**
+     * Read changes following the sequence up to the last one to read
+     */
+    private synchronized FrameworkChangesDto read(final Long since, final long until) {
+        long from = since == null ? last : since;
+        if (from < Math.max(first, last - ring.length + 1) - 1 || from > last) {
+            return FrameworkChangesDto.builder().changes(List.of()).next(last).resyncRequired(true).build();
+        }
+        long to = Math.min(Math.min(last, until), from + properties.getMaximumChanges());
+        List<FrameworkChangeDto> changes = new ArrayList<>((int) (to - from));
+        for (long sequence = from + 1; sequence <= to; sequence++) {
+            changes.add(ring[index(sequence)]);
+        }
+        return FrameworkChangesDto.builder().changes(changes).next(to).build();
+    }
+
+    /**
+     * Wait for changes following the sequence, up to the timeout
+     *
+     * @param since   sequence of the last seen change, null for the last change of the log
+     * @param timeout maximum wait for a change
+     * @return changes following the sequence once there are some, or none after the timeout
+     */
+    public CompletableFuture<FrameworkChangesDto> await(final Long since, final Duration timeout) {
+        long from = since == null ? lastSequence() : since;
+        CompletableFuture<Void> changed = new CompletableFuture<>();
+        Runnable listener = () -> {
+            if (lastSequence() != from) {
+                changed.complete(null);
+            }
+        };
+        listeners.add(listener);
+        listener.run();
+        return changed.completeOnTimeout(null, timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((result, error) -> listeners.remove(listener))
+                .thenApply(result -> read(from));
+    }
+
+    /**
+     * Pass changes following the sequence to the receiver, first the retained ones and then new ones as they are
+     * appended. The receiver is run on a receiver thread, one batch at a time. The subscription ends after a resync,
+     * also when the receiver falls too far behind, or when the receiver throws.
+     *
+     * @param since    sequence of the last seen change, null for the last change of the log
+     * @param receiver receiver of batches of changes
+     * @return cancellation of the subscription, changes appended after it are not passed
+     */
+    public Runnable subscribe(final Long since, final Consumer<FrameworkChangesDto> receiver) {
+        Subscription subscription = new Subscription(since == null ? lastSequence() : since, receiver);
+        listeners.add(subscription);
+        notifier.execute(subscription);
+        return subscription::cancel;
+    }
+
+    private int index(final long sequence) {
+        return (int) ((sequence - first) % ring.length);
+    }
+
+    /**
+     * Subscribed receiver with the sequence of the last change queued for it, run by the notifier thread only.
+     * The queued changes are passed to the receiver by one receiver thread at a time.
+     */
+    private class Subscription implements Runnable {
+
+        private final Consumer<FrameworkChangesDto> receiver;
+
+        private final BlockingQueue<FrameworkChangesDto> queue;
+
+        private final AtomicBoolean receiving = new AtomicBoolean();
+
+        private long next;
+
+        /**
+         * Sequence of the last change to pass, the last one of the log when the subscription was cancelled
+         */
+        private volatile long until = Long.MAX_VALUE;
+
+        private volatile boolean cancelled;
+
+        Subscription(final long since, final Consumer<FrameworkChangesDto> receiver) {
+            this.next = since;
+            this.receiver = receiver;
+            this.queue = new ArrayBlockingQueue<>(properties.getSubscriberQueueSize());
+        }
+
+        @Override
+        public void run() {
+            if (!listeners.contains(this)) {
+                return;
+            }
+            FrameworkChangesDto changes;
+            do {
+                changes = read(next, until);
+                if (changes.getChanges().isEmpty() && !changes.isResyncRequired()) {
+                    break;
+                }
+                if (!queue.offer(changes)) {
+                    // the queued changes are of no use to a consumer that has to resync, only the notifier adds
+                    // to the queue, so there is room for the resync once it is cleared
+                    queue.clear();
+                    changes = FrameworkChangesDto.builder().changes(List.of()).next(lastSequence()).resyncRequired(true).build();
+                    queue.add(changes);
+                }
+                next = changes.getNext();
+            } while (!changes.isResyncRequired());
+            if (changes.isResyncRequired()) {
+                listeners.remove(this);
+            }
+            receive();
+        }
+
+        /**
+         * Pass the queued changes to the receiver on a receiver thread, unless one is already passing them
+         */
+        private void receive() {
+            if (!cancelled && !queue.isEmpty() && receiving.compareAndSet(false, true)) {
+                receivers.execute(() -> {
+                    try {
+                        FrameworkChangesDto changes;
+                        while (!cancelled && (changes = queue.poll()) != null) {
+                            receiver.accept(changes);
+                        }
+                    } catch (RuntimeException e) {
+                        log.debug("Framework change consumer failed, unsubscribing", e);
+                        cancel();
+                    } finally {
+                        receiving.set(false);
+                    }
+                    // changes queued after the last poll and before the flag was reset
+                    receive();
+                });
+            }
+        }
+
+        void cancel() {
+            until = lastSequence();
+            cancelled = true;
+            listeners.remove(this);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.etnetera.hr.changes;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration of {@link FrameworkChangeLog}.
+ *
+ * @author Etnetera
+ */
+@Data
+@Component
+@ConfigurationProperties("frameworks.changes")
+public class FrameworkChangeProperties {
+
+    /**
+     * Number of retained changes, consumers further behind have to resync
+     */
+    private int retention = 100_000;
+
+    /**
+     * Maximum number of changes in one response or stream event batch
+     */
+    private int maximumChanges = 1000;
+
+    /**
+     * Maximum number of batches queued for a stream consumer, a consumer further behind has to resync
+     */
+    private int subscriberQueueSize = 16;
+
+    /**
+     * Time a long-poll waits for a change
+     */
+    private Duration longPollTimeout = Duration.ofSeconds(20);
+
+    /**
+     * Time after which an event stream is closed, consumers reconnect with Last-Event-ID
+     */
+    private Duration streamTimeout = Duration.ofMinutes(30);
+}
@@ -1,17 +1,66 @@
 package com.etnetera.hr.controller;
 
+import com.etnetera.hr.changes.FrameworkChangeLog;
+import com.etnetera.hr.changes.FrameworkChangeProperties;
+import com.etnetera.hr.dto.BulkItemResultDto;
+import com.etnetera.hr.dto.EditJSFrameworkDto;
+import com.etnetera.hr.dto.FrameworkChangeDto;
+import com.etnetera.hr.dto.FrameworkChangesDto;
+import com.etnetera.hr.dto.FrameworkFields;
+import com.etnetera.hr.dto.FrameworkImportDto;
+import com.etnetera.hr.dto.FrameworkLookupDto;
+import com.etnetera.hr.dto.FrameworkPageDto;
+import com.etnetera.hr.dto.FrameworkStatsDto;
 import com.etnetera.hr.dto.JSFrameworkDto;
 import com.etnetera.hr.dto.SearchJSFrameworkDto;
+import com.etnetera.hr.dto.WriteStatusDto;
+import com.etnetera.hr.importer.CsvRowReader;
+import com.etnetera.hr.importer.FrameworkImportProperties;
+import com.etnetera.hr.importer.FrameworkImporter;
+import com.etnetera.hr.importer.NdjsonRowReader;
+import com.etnetera.hr.repository.FrameworkRevision;
+import com.etnetera.hr.service.FrameworkBulkProperties;
 import com.etnetera.hr.service.JavaScriptFrameworkService;
+import com.etnetera.hr.write.FrameworkWriteBehind;
+import com.etnetera.hr.write.WriteBehindProperties;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static com.etnetera.hr.server.BinaryFormatsConfiguration.APPLICATION_CBOR_VALUE;
+import static com.etnetera.hr.server.BinaryFormatsConfiguration.APPLICATION_SMILE_VALUE;
 import static org.springframework.web.servlet.mvc.method.annotation.MvcUriComponentsBuilder.fromMethodCall;
 import static org.springframework.web.servlet.mvc.method.annotation.MvcUriComponentsBuilder.on;
 
@@ -25,22 +74,130 @@ import static org.springframework.web.servlet.mvc.method.annotation.MvcUriCompon
 @RequestMapping("/frameworks")
 public class JavaScriptFrameworkController {
 
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    /**
+     * Request preference of asynchronous processing, RFC 7240
+     */
+    public static final String RESPOND_ASYNC = "respond-async";
+
+    /**
+     * Name of the last event of a change stream whose consumer has to read all frameworks again
+     */
+    public static final String RESYNC_EVENT = "resync";
+
+    private static final String PREFER = "Prefer";
+
+    private static final String PREFERENCE_APPLIED = "Preference-Applied";
+
+    private static final String LAST_EVENT_ID = "Last-Event-ID";
+
     private final JavaScriptFrameworkService service;
 
+    private final ObjectMapper objectMapper;
+
+    private final FrameworkBulkProperties bulkProperties;
+
+    private final FrameworkWriteBehind writeBehind;
+
+    private final WriteBehindProperties writeBehindProperties;
+
+    private final FrameworkChangeLog changeLog;
+
+    private final FrameworkChangeProperties changeProperties;
+
+    private final MappingJackson2CborHttpMessageConverter cborConverter;
+
+    private final MappingJackson2SmileHttpMessageConverter smileConverter;
+
+    private final FrameworkImporter importer;
+
+    private final FrameworkImportProperties importProperties;
+
+    /**
+     * One keyset page of frameworks, with the requested fields only if given.
+     * The id and the revision are always returned, they make the cursor and the ETag of the page.
+     */
     @GetMapping
-    public ResponseEntity<Iterable<JSFrameworkDto>> frameworks() {
-        return ResponseEntity.ok(service.getAllFrameworks());
+    public ResponseEntity<List<JSFrameworkDto>> frameworks(@Valid final FrameworkPageDto page,
+                                                           @RequestParam(required = false) final FrameworkFields fields,
+                                                           @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            List<FrameworkRevision> revisions = service.getFrameworkRevisions(page);
+            String etag = pageEtag(fields, revisions.stream().map(revision -> revision.getId() + ":" + revision.getRevision()));
+            if (etagMatches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
+        List<JSFrameworkDto> frameworks = fields == null
+                ? service.getFrameworks(page)
+                : service.getFrameworks(page, fields.with(FrameworkFields.Field.REVISION));
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(pageEtag(fields, frameworks.stream().map(framework -> framework.getId() + ":" + framework.getRevision())));
+        if (frameworks.size() == page.getLimitOrDefault()) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(frameworks.get(frameworks.size() - 1).getId()));
+        }
+        return response.body(frameworks);
+    }
+
+    /**
+     * Frameworks by a comma-separated list of ids, read by one query
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<FrameworkLookupDto> frameworksByIds(@RequestParam final List<Long> ids) {
+        return lookup(ids);
+    }
+
+    /**
+     * Frameworks by a JSON array of ids, for lists too long for a URL
+     */
+    @PostMapping(value = "/lookup", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<FrameworkLookupDto> lookupFrameworks(@RequestBody final List<Long> ids) {
+        return lookup(ids);
+    }
+
+    @GetMapping(produces = APPLICATION_NDJSON_VALUE)
+    public void streamFrameworks(final HttpServletResponse response) throws IOException {
+        writeNdjson(response, service::streamAllFrameworks);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<JSFrameworkDto> frameworkById(@PathVariable final Long id) {
-        return ResponseEntity.of(service.getFrameworkById(id));
+    public ResponseEntity<JSFrameworkDto> frameworkById(@PathVariable final Long id,
+                                                        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            Optional<FrameworkRevision> revision = service.getFrameworkRevision(id);
+            if (revision.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            if (etagMatches(ifNoneMatch, etag(revision.get().getRevision()))) {
+                return revisionHeaders(ResponseEntity.status(HttpStatus.NOT_MODIFIED), revision.get().getRevision(), revision.get().getLastModified())
+                        .build();
+            }
+        }
+        return service.getFrameworkById(id)
+                .map(framework -> revisionHeaders(ResponseEntity.ok(), framework.getRevision(), framework.getLastModified())
+                        .body(framework))
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    /**
+     * Create framework, asynchronously if the client prefers {@link #RESPOND_ASYNC} and write-behind is enabled
+     *
+     * @param preferences values of the Prefer header
+     * @return created framework, or accepted write with its status URL in the Location header
+     */
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<JSFrameworkDto> createFramework(@RequestBody @Valid final JSFrameworkDto framework) {
+    public ResponseEntity<?> createFramework(@RequestBody @Valid final JSFrameworkDto framework,
+                                             @RequestHeader(value = PREFER, required = false) final List<String> preferences) {
+        if (writeBehind.isEnabled() && prefers(preferences, RESPOND_ASYNC)) {
+            return accepted(writeBehind.createFramework(framework));
+        }
         JSFrameworkDto result = service.createFramework(framework);
-        URI createdUri = fromMethodCall(on(JavaScriptFrameworkController.class).frameworkById(result.getId()))
+        URI createdUri = fromMethodCall(on(JavaScriptFrameworkController.class).frameworkById(result.getId(), null))
                 .build()
                 .toUri();
         return ResponseEntity.created(createdUri)
@@ -48,17 +205,348 @@ public class JavaScriptFrameworkController {
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<JSFrameworkDto> deleteFramework(@PathVariable final Long id) {
-        return ResponseEntity.of(service.deleteFramework(id));
+    public ResponseEntity<JSFrameworkDto> deleteFramework(@PathVariable final Long id,
+                                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) final String ifMatch) {
+        if (!isValidIfMatch(ifMatch)) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+        return service.deleteFramework(id, expectedRevision(ifMatch))
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> notFound(ifMatch));
     }
 
+    /**
+     * Edit framework, asynchronously if the client prefers {@link #RESPOND_ASYNC} and write-behind is enabled.
+     * Conditional edits are always written synchronously, their precondition has to be answered.
+     *
+     * @param preferences values of the Prefer header
+     * @return edited framework, or accepted write with its status URL in the Location header
+     */
     @PutMapping(value = "/{id}", consumes = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<JSFrameworkDto> editFramework(@PathVariable final Long id, @RequestBody @Valid final JSFrameworkDto framework) {
-        return ResponseEntity.of(service.editFramework(id, framework));
+    public ResponseEntity<?> editFramework(@PathVariable final Long id,
+                                           @RequestBody @Valid final JSFrameworkDto framework,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) final String ifMatch,
+                                           @RequestHeader(value = PREFER, required = false) final List<String> preferences) {
+        if (writeBehind.isEnabled() && ifMatch == null && prefers(preferences, RESPOND_ASYNC)) {
+            return accepted(writeBehind.editFramework(id, framework));
+        }
+        if (!isValidIfMatch(ifMatch)) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+        return service.editFramework(id, framework, expectedRevision(ifMatch))
+                .map(edited -> revisionHeaders(ResponseEntity.ok(), edited.getRevision(), edited.getLastModified())
+                        .body(edited))
+                .orElseGet(() -> notFound(ifMatch));
+    }
+
+    @GetMapping("/writes/{writeId}")
+    public ResponseEntity<WriteStatusDto> writeStatus(@PathVariable final String writeId) {
+        return ResponseEntity.of(writeBehind.getStatus(writeId));
+    }
+
+    /**
+     * Asynchronous write rejected by a full queue
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Void> writeQueueFull() {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, writeBehindProperties.getRetryAfter().getSeconds())))
+                .build();
+    }
+
+    /**
+     * Concurrent write of the same framework, a failed precondition if the client sent one
+     */
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<Void> concurrentWrite(final HttpServletRequest request) {
+        return ResponseEntity.status(request.getHeader(HttpHeaders.IF_MATCH) != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT)
+                .build();
+    }
+
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<BulkItemResultDto>> createFrameworks(@RequestBody final List<JSFrameworkDto> frameworks) {
+        return bulk(frameworks, service::createFrameworks);
+    }
+
+    @PutMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<BulkItemResultDto>> editFrameworks(@RequestBody final List<EditJSFrameworkDto> frameworks) {
+        return bulk(frameworks, service::editFrameworks);
+    }
+
+    @DeleteMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<BulkItemResultDto>> deleteFrameworks(@RequestBody final List<Long> ids) {
+        return bulk(ids, service::deleteFrameworks);
+    }
+
+    /**
+     * Create or edit frameworks matched by name, from comma separated values with a header row, see
+     * {@link CsvRowReader}. Rows are imported as they arrive, the body is not buffered.
+     */
+    @PostMapping(value = "/import", consumes = TEXT_CSV_VALUE)
+    public ResponseEntity<FrameworkImportDto> importCsv(final HttpServletRequest request) throws IOException {
+        CsvRowReader rows;
+        try {
+            rows = new CsvRowReader(body(request), importProperties.getMaximumRowLength());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(importer.importFrameworks(rows));
+    }
+
+    /**
+     * Create or edit frameworks matched by name, from one framework per line. Rows are imported as they arrive,
+     * the body is not buffered.
+     */
+    @PostMapping(value = "/import", consumes = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<FrameworkImportDto> importNdjson(final HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(importer.importFrameworks(
+                new NdjsonRowReader(body(request), objectMapper, importProperties.getMaximumRowLength())));
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Stream<JSFrameworkDto>> searchFrameworks(@Valid final SearchJSFrameworkDto search) {
-        return ResponseEntity.ok(service.searchFrameworks(search));
+    public void searchFrameworks(@Valid final SearchJSFrameworkDto search, final HttpServletResponse response) throws IOException {
+        writeArray(response, MediaType.APPLICATION_JSON_VALUE, objectMapper, consumer -> service.searchFrameworks(search, consumer));
+    }
+
+    @GetMapping(value = "/search", produces = APPLICATION_CBOR_VALUE)
+    public void searchFrameworksAsCbor(@Valid final SearchJSFrameworkDto search, final HttpServletResponse response) throws IOException {
+        writeArray(response, APPLICATION_CBOR_VALUE, cborConverter.getObjectMapper(), consumer -> service.searchFrameworks(search, consumer));
+    }
+
+    @GetMapping(value = "/search", produces = APPLICATION_SMILE_VALUE)
+    public void searchFrameworksAsSmile(@Valid final SearchJSFrameworkDto search, final HttpServletResponse response) throws IOException {
+        writeArray(response, APPLICATION_SMILE_VALUE, smileConverter.getObjectMapper(), consumer -> service.searchFrameworks(search, consumer));
+    }
+
+    @GetMapping(value = "/search", produces = APPLICATION_NDJSON_VALUE)
+    public void streamSearchFrameworks(@Valid final SearchJSFrameworkDto search, final HttpServletResponse response) throws IOException {
+        writeNdjson(response, consumer -> service.searchFrameworks(search, consumer));
+    }
+
+    /**
+     * Changes following the sequence, waiting up to the long-poll timeout for one if there is none yet.
+     * A consumer whose sequence is no longer retained gets 410, it has to read all frameworks again
+     * and continue from the returned sequence.
+     *
+     * @param since sequence of the last seen change, the latest change if not given
+     * @return changes and the sequence to continue from
+     */
+    @GetMapping("/changes")
+    public CompletableFuture<ResponseEntity<FrameworkChangesDto>> changes(@RequestParam(required = false) final Long since) {
+        return changeLog.await(since, changeProperties.getLongPollTimeout())
+                .thenApply(changes -> ResponseEntity.status(changes.isResyncRequired() ? HttpStatus.GONE : HttpStatus.OK)
+                        .body(changes));
+    }
+
+    /**
+     * Server-sent events of changes following the sequence, one event per change with the sequence as its id.
+     * A consumer whose sequence is no longer retained, or who reads the stream too slowly to keep up with the writes,
+     * gets a single {@link #RESYNC_EVENT}, whose id is the sequence to continue from after reading all frameworks
+     * again.
+     *
+     * @param since       sequence of the last seen change, the latest change if not given
+     * @param lastEventId sequence of the last received event of a reconnecting consumer, takes precedence over since
+     * @return event stream
+     */
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter changeStream(@RequestParam(required = false) final Long since,
+                                   @RequestHeader(value = LAST_EVENT_ID, required = false) final Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(changeProperties.getStreamTimeout().toMillis());
+        Runnable unsubscribe = changeLog.subscribe(lastEventId != null ? lastEventId : since, changes -> write(() -> {
+            if (changes.isResyncRequired()) {
+                emitter.send(SseEmitter.event().id(String.valueOf(changes.getNext())).name(RESYNC_EVENT).data(changes));
+                emitter.complete();
+                return;
+            }
+            for (FrameworkChangeDto change : changes.getChanges()) {
+                emitter.send(SseEmitter.event().id(String.valueOf(change.getSequence())).name(change.getType().name()).data(change));
+            }
+        }));
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(error -> unsubscribe.run());
+        return emitter;
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<FrameworkStatsDto> stats(@Valid final SearchJSFrameworkDto filter) {
+        return ResponseEntity.ok(service.getStats(filter));
+    }
+
+    /**
+     * Text of the request body, in UTF-8 unless the request states its charset
+     */
+    private static Reader body(final HttpServletRequest request) throws IOException {
+        if (request.getCharacterEncoding() == null) {
+            request.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        }
+        return request.getReader();
+    }
+
+    private <T> ResponseEntity<List<BulkItemResultDto>> bulk(final List<T> items,
+                                                             final Function<List<T>, List<BulkItemResultDto>> write) {
+        if (items.size() > bulkProperties.getMaximumItems()) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+        return ResponseEntity.ok(write.apply(items));
+    }
+
+    private ResponseEntity<FrameworkLookupDto> lookup(final List<Long> ids) {
+        if (ids.contains(null)) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (ids.size() > bulkProperties.getMaximumItems()) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+        return ResponseEntity.ok(service.getFrameworksByIds(ids));
+    }
+
+    /**
+     * Accepted asynchronous write, with the URL of its status
+     */
+    private static ResponseEntity<WriteStatusDto> accepted(final WriteStatusDto status) {
+        URI statusUri = fromMethodCall(on(JavaScriptFrameworkController.class).writeStatus(status.getId()))
+                .build()
+                .toUri();
+        return ResponseEntity.accepted()
+                .location(statusUri)
+                .header(PREFERENCE_APPLIED, RESPOND_ASYNC)
+                .body(status);
+    }
+
+    /**
+     * Whether the Prefer header values hold the preference, RFC 7240. A value may list several preferences
+     * separated by commas, each with its own value and parameters, e.g. {@code return=minimal, respond-async}.
+     */
+    private static boolean prefers(final List<String> preferences, final String preference) {
+        return preferences != null && preferences.stream()
+                .flatMap(value -> Arrays.stream(value.split(",")))
+                .map(token -> token.split("[;=]", 2)[0].trim())
+                .anyMatch(preference::equalsIgnoreCase);
+    }
+
+    /**
+     * Strong ETag of a framework, its revision
+     */
+    private static String etag(final Long revision) {
+        return "\"" + revision + "\"";
+    }
+
+    /**
+     * Strong ETag of a page, a digest of the requested fields and of ids and revisions of its frameworks
+     */
+    private static String pageEtag(final FrameworkFields fields, final Stream<String> idsAndRevisions) {
+        String page = Stream.concat(Stream.ofNullable(fields).map(FrameworkFields::toString), idsAndRevisions)
+                .collect(Collectors.joining(","));
+        return "\"" + DigestUtils.md5DigestAsHex(page.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    private static <B extends ResponseEntity.HeadersBuilder<B>> B revisionHeaders(final B response,
+                                                                                  final Long revision,
+                                                                                  final Instant lastModified) {
+        if (revision != null) {
+            response.eTag(etag(revision));
+        }
+        if (lastModified != null) {
+            response.lastModified(lastModified.toEpochMilli());
+        }
+        return response;
+    }
+
+    /**
+     * Weak comparison of If-None-Match to the ETag
+     */
+    private static boolean etagMatches(final String ifNoneMatch, final String etag) {
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                .anyMatch(tag -> tag.equals("*") || tag.equals(etag));
+    }
+
+    /**
+     * Response to a write of a missing framework. If-Match, also {@code *}, fails without a current representation
+     * (RFC 7232, section 3.1).
+     */
+    private static <T> ResponseEntity<T> notFound(final String ifMatch) {
+        return ResponseEntity.status(ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.NOT_FOUND).build();
+    }
+
+    /**
+     * If-Match is supported as a single strong ETag or any, anything else can not match strongly
+     */
+    private static boolean isValidIfMatch(final String ifMatch) {
+        return ifMatch == null || ifMatch.trim().equals("*") || expectedRevision(ifMatch) != null;
+    }
+
+    /**
+     * Revision of a single strong ETag in If-Match
+     *
+     * @return revision, null if there is no such ETag
+     */
+    private static Long expectedRevision(final String ifMatch) {
+        if (ifMatch == null) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            return null;
+        }
+        try {
+            return Long.valueOf(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Write frameworks to the response as one array in the format of the mapper, as the source passes them
+     */
+    private void writeArray(final HttpServletResponse response,
+                            final String contentType,
+                            final ObjectMapper mapper,
+                            final Consumer<Consumer<JSFrameworkDto>> source) throws IOException {
+        response.setContentType(contentType);
+        ObjectWriter writer = frameworkWriter(mapper);
+        JsonGenerator generator = writer.getFactory().createGenerator(response.getOutputStream());
+        generator.writeStartArray();
+        source.accept(framework -> write(() -> writer.writeValue(generator, framework)));
+        generator.writeEndArray();
+        generator.flush();
+    }
+
+    /**
+     * Write frameworks to the response one JSON per line as the source passes them.
+     * A write failure, e.g. a disconnected client, is rethrown to the source to stop it.
+     */
+    private void writeNdjson(final HttpServletResponse response,
+                             final Consumer<Consumer<JSFrameworkDto>> source) throws IOException {
+        response.setContentType(APPLICATION_NDJSON_VALUE);
+        ObjectWriter writer = frameworkWriter(objectMapper);
+        OutputStream out = response.getOutputStream();
+        source.accept(framework -> write(() -> {
+            out.write(writer.writeValueAsBytes(framework));
+            out.write('\n');
+        }));
+    }
+
+    /**
+     * Writer of single frameworks leaving flushing to the buffers of the response
+     */
+    private static ObjectWriter frameworkWriter(final ObjectMapper mapper) {
+        return mapper.writerFor(JSFrameworkDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    private static void write(final IOWrite write) {
+        try {
+            write.run();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface IOWrite {
+        void run() throws IOException;
     }
 }
@@ -0,0 +1,64 @@
+package com.etnetera.hr.data;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+/**
+ * Version of a framework with its {@link SemanticVersion} parts, which are null if the version is not numeric.
+ * The {@link #latest} flag marks the greatest version of the framework, so searches restricted to latest versions
+ * are answered by an index.
+ *
+ * @author Etnetera
+ */
+@Embeddable
+@Getter
+@EqualsAndHashCode
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class FrameworkVersion {
+
+    @Column(name = "version", nullable = false)
+    private String value;
+
+    private Integer major;
+
+    private Integer minor;
+
+    private Integer patch;
+
+    @Column(nullable = false)
+    private boolean latest;
+
+    /**
+     * Parse the versions of a framework
+     *
+     * @param versions versions of a framework
+     * @return versions with their parts, in the same order
+     */
+    public static List<FrameworkVersion> of(final List<String> versions) {
+        OptionalInt latest = SemanticVersion.latest(versions);
+        List<FrameworkVersion> parsed = new ArrayList<>(versions.size());
+        for (int i = 0; i < versions.size(); i++) {
+            String value = versions.get(i);
+            Optional<SemanticVersion> version = SemanticVersion.parse(value);
+            parsed.add(new FrameworkVersion(
+                    value,
+                    version.map(SemanticVersion::getMajor).orElse(null),
+                    version.map(SemanticVersion::getMinor).orElse(null),
+                    version.map(SemanticVersion::getPatch).orElse(null),
+                    latest.isPresent() && latest.getAsInt() == i
+            ));
+        }
+        return parsed;
+    }
+}
@@ -1,38 +1,154 @@
 package com.etnetera.hr.data;
 
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * Simple data entity describing basic properties of every JavaScript framework.
+ * <p>
+ * Versions are stored with their parsed {@link SemanticVersion} parts, but read and written as plain strings.
+ * Entities are loaded only to be written and every write copies the versions, so versions are loaded eagerly:
+ * from the second-level cache when cached, which ignores entity graphs, otherwise joined by the
+ * {@link #WITH_VERSIONS} graph or loaded in batches.
+ * Every change, including a change of versions only, increments the {@link #revision} and updates
+ * the {@link #lastModified} time and the {@link #contentHash}.
+ * <p>
+ * Frameworks and their versions are kept in the second-level cache, in the {@link #CACHE_REGION} and
+ * {@link #VERSIONS_CACHE_REGION} regions. Cacheable queries of frameworks use the {@link #QUERY_CACHE_REGION}.
  *
  * @author Etnetera
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = JavaScriptFramework.CACHE_REGION)
+@NamedEntityGraph(name = JavaScriptFramework.WITH_VERSIONS, attributeNodes = @NamedAttributeNode("version"))
 @NoArgsConstructor
-@AllArgsConstructor
 @Getter
 @Setter
-@Builder
 public class JavaScriptFramework {
 
+    public static final String WITH_VERSIONS = "JavaScriptFramework.withVersions";
+
+    public static final String CACHE_REGION = "frameworks";
+
+    public static final String VERSIONS_CACHE_REGION = "frameworks.versions";
+
+    public static final String QUERY_CACHE_REGION = "frameworks.queries";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "framework_sequence")
+    @SequenceGenerator(name = "framework_sequence", sequenceName = "java_script_framework_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 30)
     private String name;
 
     @ElementCollection(fetch = FetchType.EAGER)
-    @Column(nullable = false)
-    private List<String> version;
+    @BatchSize(size = 100)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = JavaScriptFramework.VERSIONS_CACHE_REGION)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private List<FrameworkVersion> version;
 
     @Column(nullable = false)
     private LocalDate deprecationDate;
 
     @Column(nullable = false)
     private Integer hypeLevel;
+
+    @Version
+    @Column(nullable = false)
+    private Long revision;
+
+    @Column(nullable = false)
+    private Instant lastModified;
+
+    /**
+     * Hash of the content, see {@link #contentHash(String, List, LocalDate, Integer)}
+     */
+    @Column(nullable = false, length = 64)
+    @Setter(AccessLevel.NONE)
+    private String contentHash;
+
+    @Builder
+    public JavaScriptFramework(final Long id, final String name, final List<String> version, final LocalDate deprecationDate,
+                               final Integer hypeLevel, final Long revision, final Instant lastModified) {
+        this.id = id;
+        this.name = name;
+        this.deprecationDate = deprecationDate;
+        this.hypeLevel = hypeLevel;
+        this.revision = revision;
+        this.lastModified = lastModified;
+        setVersion(version);
+    }
+
+    /**
+     * @return version strings, in the order they were set
+     */
+    public List<String> getVersion() {
+        return version == null ? null : version.stream().map(FrameworkVersion::getValue).collect(Collectors.toUnmodifiableList());
+    }
+
+    /**
+     * Replace the versions, parsing their semantic version parts
+     *
+     * @param version version strings
+     */
+    public void setVersion(final List<String> version) {
+        this.version = version == null ? null : FrameworkVersion.of(version);
+    }
+
+    /**
+     * Hash of the content of a framework, equal for frameworks whose name, versions in any order, deprecation date
+     * and hype level are equal. Imports compare it to skip unchanged frameworks without loading them.
+     *
+     * @param name            name of the framework
+     * @param version         versions of the framework
+     * @param deprecationDate deprecation date of the framework
+     * @param hypeLevel       hype level of the framework
+     * @return hex SHA-256 of the content
+     */
+    public static String contentHash(final String name, final List<String> version, final LocalDate deprecationDate,
+                                     final Integer hypeLevel) {
+        // every value is prefixed by its length, so no two contents are written the same
+        StringBuilder content = new StringBuilder();
+        appendValue(content, name);
+        appendValue(content, String.valueOf(deprecationDate));
+        appendValue(content, String.valueOf(hypeLevel));
+        version.stream().sorted().forEach(value -> appendValue(content, value));
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(content.toString().getBytes(StandardCharsets.UTF_8));
+            return String.format("%064x", new BigInteger(1, hash));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
+    private static void appendValue(final StringBuilder content, final String value) {
+        content.append(value.length()).append(':').append(value);
+    }
+
+    /**
+     * Set the modification time in the precision of the column, so the written framework equals the one read back,
+     * and the hash of the written content
+     */
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        lastModified = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        contentHash = contentHash(name, getVersion(), deprecationDate, hypeLevel);
+    }
 }
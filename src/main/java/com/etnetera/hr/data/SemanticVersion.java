@@ -0,0 +1,78 @@
+package com.etnetera.hr.data;
+
+import lombok.Value;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Numeric major, minor and patch parts of a version like {@code 1}, {@code 2.0} or {@code v1.2.3}.
+ * Missing parts are zero. Versions with other characters, e.g. pre-release suffixes, are not semantic versions
+ * and can only be matched exactly.
+ *
+ * @author Etnetera
+ */
+@Value
+public class SemanticVersion implements Comparable<SemanticVersion> {
+
+    private static final Pattern PATTERN = Pattern.compile("v?(\\d{1,9})(?:\\.(\\d{1,9}))?(?:\\.(\\d{1,9}))?");
+
+    private static final Comparator<SemanticVersion> ORDER = Comparator.comparingInt(SemanticVersion::getMajor)
+            .thenComparingInt(SemanticVersion::getMinor)
+            .thenComparingInt(SemanticVersion::getPatch);
+
+    int major;
+    int minor;
+    int patch;
+
+    /**
+     * Parse the version
+     *
+     * @param version version of a framework
+     * @return parsed version, empty if the version is not numeric
+     */
+    public static Optional<SemanticVersion> parse(final String version) {
+        Matcher matcher = PATTERN.matcher(version);
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        return Optional.of(new SemanticVersion(part(matcher, 1), part(matcher, 2), part(matcher, 3)));
+    }
+
+    /**
+     * Find the latest of the versions, the first one if several versions are equal, e.g. {@code 2} and {@code 2.0}
+     *
+     * @param versions versions of a framework
+     * @return index of the latest version, empty if none of the versions is numeric
+     */
+    public static OptionalInt latest(final List<String> versions) {
+        int latest = -1;
+        SemanticVersion latestVersion = null;
+        for (int i = 0; i < versions.size(); i++) {
+            Optional<SemanticVersion> version = parse(versions.get(i));
+            if (version.isPresent() && (latestVersion == null || version.get().compareTo(latestVersion) > 0)) {
+                latest = i;
+                latestVersion = version.get();
+            }
+        }
+        return latest < 0 ? OptionalInt.empty() : OptionalInt.of(latest);
+    }
+
+    @Override
+    public int compareTo(final SemanticVersion other) {
+        return ORDER.compare(this, other);
+    }
+
+    @Override
+    public String toString() {
+        return major + "." + minor + "." + patch;
+    }
+
+    private static int part(final Matcher matcher, final int group) {
+        return matcher.group(group) == null ? 0 : Integer.parseInt(matcher.group(group));
+    }
+}
@@ -0,0 +1,31 @@
+package com.etnetera.hr.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Outcome of one item of a bulk request.
+ *
+ * @author Etnetera
+ */
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkItemResultDto {
+
+    public enum Status {
+        CREATED, UPDATED, UNCHANGED, DELETED, NOT_FOUND, INVALID, FAILED
+    }
+
+    /**
+     * Position of the item in the request
+     */
+    private final int index;
+
+    private final Long id;
+
+    private final Status status;
+
+    private final String error;
+}
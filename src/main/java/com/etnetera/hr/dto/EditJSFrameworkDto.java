@@ -0,0 +1,24 @@
+package com.etnetera.hr.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+
+/**
+ * Item of a bulk edit, new data of the framework with given id.
+ *
+ * @author Etnetera
+ */
+@Data
+@Builder
+public class EditJSFrameworkDto {
+
+    @NotNull
+    private final Long id;
+
+    @NotNull
+    @Valid
+    private final JSFrameworkDto framework;
+}
@@ -0,0 +1,44 @@
+package com.etnetera.hr.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * Create, edit or delete of a framework in the change log.
+ *
+ * @author Etnetera
+ */
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class FrameworkChangeDto {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    /**
+     * Position in the change log, every change is one greater than the previous one
+     */
+    private final long sequence;
+
+    private final Type type;
+
+    private final Long id;
+
+    /**
+     * Revision of the framework after the change, for delete one greater than the deleted revision.
+     * A consumer keeping the change of the greatest revision of every framework ends on its last state.
+     */
+    private final Long revision;
+
+    /**
+     * Framework after the change, null for delete
+     */
+    private final JSFrameworkDto framework;
+
+    private final Instant timestamp;
+}
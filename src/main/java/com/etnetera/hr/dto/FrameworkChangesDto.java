@@ -0,0 +1,32 @@
+package com.etnetera.hr.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Changes following a sequence of the change log.
+ *
+ * @author Etnetera
+ */
+@Data
+@Builder
+public class FrameworkChangesDto {
+
+    /**
+     * Changes in the order of their sequence
+     */
+    private final List<FrameworkChangeDto> changes;
+
+    /**
+     * Sequence to continue from, the {@code since} of the next request
+     */
+    private final long next;
+
+    /**
+     * The changes following the requested sequence are no longer retained, the consumer has to read all frameworks
+     * again and continue from {@link #next}
+     */
+    private final boolean resyncRequired;
+}
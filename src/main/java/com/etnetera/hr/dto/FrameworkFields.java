@@ -0,0 +1,112 @@
+package com.etnetera.hr.dto;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Fields of {@link JSFrameworkDto} requested by a sparse response, given by property names separated by commas,
+ * e.g. {@code name,hypeLevel}. The id is always returned, it identifies the framework.
+ *
+ * @author Etnetera
+ */
+@Getter
+@EqualsAndHashCode
+public final class FrameworkFields {
+
+    public static final FrameworkFields ALL = new FrameworkFields(EnumSet.allOf(Field.class));
+
+    private final Set<Field> fields;
+
+    private FrameworkFields(final Set<Field> fields) {
+        this.fields = Collections.unmodifiableSet(fields);
+    }
+
+    /**
+     * Parse the fields, used also for binding of request parameters
+     *
+     * @param fields property names separated by commas
+     * @return parsed fields, always including the id
+     * @throws IllegalArgumentException if a name is not a field of a framework
+     */
+    public static FrameworkFields valueOf(final String fields) {
+        Set<Field> parsed = EnumSet.of(Field.ID);
+        for (String property : fields.split(",")) {
+            parsed.add(Field.of(property.trim()));
+        }
+        return new FrameworkFields(parsed);
+    }
+
+    /**
+     * @param field field of a framework
+     * @return true if the field is requested
+     */
+    public boolean contains(final Field field) {
+        return fields.contains(field);
+    }
+
+    /**
+     * @param field field of a framework
+     * @return these fields and the given one
+     */
+    public FrameworkFields with(final Field field) {
+        Set<Field> with = EnumSet.copyOf(fields);
+        with.add(field);
+        return new FrameworkFields(with);
+    }
+
+    /**
+     * @param framework framework with all fields
+     * @return copy of the framework with these fields only, the same one if all fields are requested
+     */
+    public JSFrameworkDto select(final JSFrameworkDto framework) {
+        if (equals(ALL)) {
+            return framework;
+        }
+        return JSFrameworkDto.builder()
+                .id(framework.getId())
+                .name(contains(Field.NAME) ? framework.getName() : null)
+                .deprecationDate(contains(Field.DEPRECATION_DATE) ? framework.getDeprecationDate() : null)
+                .hypeLevel(contains(Field.HYPE_LEVEL) ? framework.getHypeLevel() : null)
+                .revision(contains(Field.REVISION) ? framework.getRevision() : null)
+                .lastModified(contains(Field.LAST_MODIFIED) ? framework.getLastModified() : null)
+                .version(contains(Field.VERSION) ? framework.getVersion() : null)
+                .build();
+    }
+
+    @Override
+    public String toString() {
+        return fields.stream().map(Field::getProperty).collect(Collectors.joining(","));
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public enum Field {
+        ID("id"),
+        NAME("name"),
+        DEPRECATION_DATE("deprecationDate"),
+        HYPE_LEVEL("hypeLevel"),
+        REVISION("revision"),
+        LAST_MODIFIED("lastModified"),
+        VERSION("version");
+
+        /**
+         * Property of the dto and the entity
+         */
+        private final String property;
+
+        static Field of(final String property) {
+            for (Field field : values()) {
+                if (field.property.equals(property)) {
+                    return field;
+                }
+            }
+            throw new IllegalArgumentException("Unknown field: " + property);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.etnetera.hr.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Summary of an import of frameworks.
+ *
+ * @author Etnetera
+ */
+@Data
+@Builder
+public class FrameworkImportDto {
+
+    private final long inserted;
+
+    private final long updated;
+
+    /**
+     * Rows equal to the stored framework, which was not written
+     */
+    private final long unchanged;
+
+    private final long rejected;
+
+    /**
+     * Lines and reasons of the first rejected rows
+     */
+    private final List<Rejection> rejections;
+
+    @Data
+    @Builder
+    public static class Rejection {
+
+        /**
+         * Line of the body the row starts on, from 1
+         */
+        private final long line;
+
+        private final String error;
+    }
+}
@@ -0,0 +1,26 @@
+package com.etnetera.hr.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Frameworks looked up by a list of ids.
+ *
+ * @author Etnetera
+ */
+@Data
+@Builder
+public class FrameworkLookupDto {
+
+    /**
+     * Found frameworks in the order of the requested ids, once per id
+     */
+    private final List<JSFrameworkDto> frameworks;
+
+    /**
+     * Requested ids without a framework, in the order of the request
+     */
+    private final List<Long> missing;
+}
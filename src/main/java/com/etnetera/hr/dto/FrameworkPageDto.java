@@ -0,0 +1,44 @@
+package com.etnetera.hr.dto;
+
+import lombok.Data;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.PositiveOrZero;
+
+/**
+ * Keyset page request for listing frameworks ordered by id.
+ *
+ * @author Etnetera
+ */
+@Data
+public class FrameworkPageDto {
+
+    public static final int DEFAULT_LIMIT = 100;
+
+    public static final int MAX_LIMIT = 1000;
+
+    /**
+     * Cursor returned by the previous page, i.e. the id of its last framework
+     */
+    @PositiveOrZero
+    final Long after;
+
+    @Min(1)
+    @Max(MAX_LIMIT)
+    final Integer limit;
+
+    /**
+     * @return cursor to start after, 0 for the first page
+     */
+    public long getAfterOrFirst() {
+        return after == null ? 0L : after;
+    }
+
+    /**
+     * @return requested page size or {@link #DEFAULT_LIMIT}
+     */
+    public int getLimitOrDefault() {
+        return limit == null ? DEFAULT_LIMIT : limit;
+    }
+}
@@ -0,0 +1,98 @@
+package com.etnetera.hr.dto;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Order of search results given by sort keys separated by commas, descending if prefixed by a minus,
+ * e.g. {@code -hypeLevel,name}. Only indexed columns can be sorted by.
+ *
+ * @author Etnetera
+ */
+@Getter
+@EqualsAndHashCode
+public final class FrameworkSort {
+
+    private final List<Order> orders;
+
+    private FrameworkSort(final List<Order> orders) {
+        this.orders = List.copyOf(orders);
+    }
+
+    /**
+     * Parse the sort, used also for binding of request parameters
+     *
+     * @param sort sort keys separated by commas
+     * @return parsed sort
+     * @throws IllegalArgumentException if a key is unknown, not indexed or repeated
+     */
+    public static FrameworkSort valueOf(final String sort) {
+        List<Order> orders = new ArrayList<>();
+        Set<Key> keys = EnumSet.noneOf(Key.class);
+        for (String order : sort.split(",")) {
+            String key = order.trim();
+            boolean descending = key.startsWith("-");
+            Key parsed = Key.of(descending ? key.substring(1) : key);
+            if (!keys.add(parsed)) {
+                throw new IllegalArgumentException("Repeated sort key: " + parsed.getProperty());
+            }
+            orders.add(new Order(parsed, descending));
+        }
+        return new FrameworkSort(orders);
+    }
+
+    /**
+     * @param key sort key
+     * @return true if the results are ordered by the key
+     */
+    public boolean contains(final Key key) {
+        return orders.stream().anyMatch(order -> order.getKey() == key);
+    }
+
+    @Override
+    public String toString() {
+        return orders.stream().map(Order::toString).collect(Collectors.joining(","));
+    }
+
+    @Value
+    public static class Order {
+        Key key;
+        boolean descending;
+
+        @Override
+        public String toString() {
+            return (descending ? "-" : "") + key.getProperty();
+        }
+    }
+
+    /**
+     * Columns with an index, see the search indexes migration
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public enum Key {
+        ID("id"),
+        NAME("name"),
+        DEPRECATION_DATE("deprecationDate"),
+        HYPE_LEVEL("hypeLevel");
+
+        private final String property;
+
+        static Key of(final String property) {
+            for (Key key : values()) {
+                if (key.property.equals(property)) {
+                    return key;
+                }
+            }
+            throw new IllegalArgumentException("Unknown sort key: " + property);
+        }
+    }
+}
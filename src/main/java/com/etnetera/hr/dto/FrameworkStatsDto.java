@@ -0,0 +1,69 @@
+package com.etnetera.hr.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * Aggregates of frameworks matching a {@link SearchJSFrameworkDto}.
+ * Count and hype level statistics are derived from the hype level histogram, so they always agree with it.
+ *
+ * @author Etnetera
+ */
+@Data
+@Builder
+public class FrameworkStatsDto {
+
+    private final long count;
+
+    private final Integer minHypeLevel;
+
+    private final Integer maxHypeLevel;
+
+    private final Double averageHypeLevel;
+
+    /**
+     * Number of frameworks per hype level
+     */
+    private final Map<Integer, Long> hypeLevels;
+
+    /**
+     * Number of frameworks per year of deprecation date
+     */
+    private final Map<Integer, Long> deprecationYears;
+
+    /**
+     * Number of frameworks per version
+     */
+    private final Map<String, Long> versions;
+
+    /**
+     * Build stats from histograms
+     *
+     * @param hypeLevels       number of frameworks per hype level
+     * @param deprecationYears number of frameworks per deprecation year
+     * @param versions         number of frameworks per version
+     * @return stats
+     */
+    public static FrameworkStatsDto of(final SortedMap<Integer, Long> hypeLevels,
+                                       final SortedMap<Integer, Long> deprecationYears,
+                                       final SortedMap<String, Long> versions) {
+        long count = 0;
+        long hypeLevelSum = 0;
+        for (Map.Entry<Integer, Long> level : hypeLevels.entrySet()) {
+            count += level.getValue();
+            hypeLevelSum += level.getKey() * level.getValue();
+        }
+        return FrameworkStatsDto.builder()
+                .count(count)
+                .minHypeLevel(hypeLevels.isEmpty() ? null : hypeLevels.firstKey())
+                .maxHypeLevel(hypeLevels.isEmpty() ? null : hypeLevels.lastKey())
+                .averageHypeLevel(count == 0 ? null : (double) hypeLevelSum / count)
+                .hypeLevels(hypeLevels)
+                .deprecationYears(deprecationYears)
+                .versions(versions)
+                .build();
+    }
+}
@@ -1,6 +1,7 @@
 package com.etnetera.hr.dto;
 
 import com.etnetera.hr.data.JavaScriptFramework;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Builder;
 import lombok.Data;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -9,11 +10,18 @@ import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Null;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
 
+/**
+ * Framework as read and written by the API. Fields left out of a sparse response are null and not serialized.
+ *
+ * @author Etnetera
+ */
 @Data
 @Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class JSFrameworkDto {
 
     @Null
@@ -32,6 +40,15 @@ public class JSFrameworkDto {
     @NotNull
     private final Integer hypeLevel;
 
+    /**
+     * Optimistic lock counter, the ETag of the framework
+     */
+    @Null
+    private final Long revision;
+
+    @Null
+    private final Instant lastModified;
+
     /**
      * Transform this dto to entity
      *
@@ -47,7 +64,8 @@ public class JSFrameworkDto {
     }
 
     /**
-     * Build {@link JSFrameworkDto} from {@link JavaScriptFramework entity}
+     * Build {@link JSFrameworkDto} from {@link JavaScriptFramework entity}.
+     * Versions are copied, so the entity has to be read inside a session or with versions fetched.
      *
      * @param entity JavaScriptFramework db entity
      * @return dto
@@ -56,9 +74,11 @@ public class JSFrameworkDto {
         return JSFrameworkDto.builder()
                 .id(entity.getId())
                 .name(entity.getName())
-                .version(entity.getVersion())
+                .version(List.copyOf(entity.getVersion()))
                 .deprecationDate(entity.getDeprecationDate())
                 .hypeLevel(entity.getHypeLevel())
+                .revision(entity.getRevision())
+                .lastModified(entity.getLastModified())
                 .build();
     }
 }
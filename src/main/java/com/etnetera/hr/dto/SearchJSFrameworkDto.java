@@ -1,18 +1,39 @@
 package com.etnetera.hr.dto;
 
+import com.etnetera.hr.data.SemanticVersion;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Data;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
+import java.util.OptionalInt;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Data
+@Builder(toBuilder = true)
+@AllArgsConstructor
 public class SearchJSFrameworkDto {
 
     final String name;
 
     final List<String> version;
 
+    /**
+     * Semantic version range, e.g. {@code >=2.0 <3}
+     */
+    final VersionRange versionRange;
+
+    /**
+     * Apply the version filters to the latest version of every framework only
+     */
+    final Boolean latestVersion;
+
     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
     final LocalDate deprecationDateAfter;
     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
@@ -21,4 +42,113 @@ public class SearchJSFrameworkDto {
     final Integer minHypeLevel;
 
     final Integer maxHypeLevel;
+
+    /**
+     * Match name regardless of case
+     */
+    final Boolean nameIgnoreCase;
+
+    /**
+     * Order frameworks whose name starts with the searched name first
+     */
+    final Boolean namePrefixFirst;
+
+    /**
+     * Order of the results, by name if not given
+     */
+    final FrameworkSort sort;
+
+    /**
+     * Fields of the results, all if not given
+     */
+    final FrameworkFields fields;
+
+    public boolean isNameIgnoreCase() {
+        return Boolean.TRUE.equals(nameIgnoreCase);
+    }
+
+    public boolean isNamePrefixFirst() {
+        return Boolean.TRUE.equals(namePrefixFirst);
+    }
+
+    public boolean isLatestVersion() {
+        return Boolean.TRUE.equals(latestVersion);
+    }
+
+    public FrameworkFields getFieldsOrAll() {
+        return fields == null ? FrameworkFields.ALL : fields;
+    }
+
+    /**
+     * Build equivalent filter usable as a key, i.e. without empty values, with sorted unique versions and with
+     * the name in lower case if its case is ignored. Sort and fields are kept, they change the result.
+     *
+     * @return normalized filter
+     */
+    public SearchJSFrameworkDto normalized() {
+        boolean hasName = !StringUtils.isEmpty(name);
+        boolean hasVersion = !CollectionUtils.isEmpty(version);
+        return toBuilder()
+                .name(hasName ? (isNameIgnoreCase() ? name.toLowerCase(Locale.ROOT) : name) : null)
+                .version(hasVersion ? version.stream().sorted().distinct().collect(Collectors.toUnmodifiableList()) : null)
+                .latestVersion((hasVersion || versionRange != null) && isLatestVersion() ? true : null)
+                .nameIgnoreCase(hasName && isNameIgnoreCase() ? true : null)
+                .namePrefixFirst(hasName && isNamePrefixFirst() ? true : null)
+                .fields(FrameworkFields.ALL.equals(fields) ? null : fields)
+                .build();
+    }
+
+    /**
+     * Evaluate this filter the same way as {@link com.etnetera.hr.repository.JavaScriptFrameworkSpecification}.
+     * Names containing LIKE wildcards are matched conservatively, i.e. they match every framework.
+     *
+     * @param framework framework to test
+     * @return true if the framework could be found by this filter
+     */
+    public boolean matches(final JSFrameworkDto framework) {
+        if (!StringUtils.isEmpty(name) && !hasWildcard(name) && !nameMatches(framework.getName())) {
+            return false;
+        }
+        if ((!CollectionUtils.isEmpty(version) || versionRange != null) && !versionMatches(framework.getVersion())) {
+            return false;
+        }
+        if (deprecationDateAfter != null && !framework.getDeprecationDate().isAfter(deprecationDateAfter)) {
+            return false;
+        }
+        if (deprecationDateBefore != null && !framework.getDeprecationDate().isBefore(deprecationDateBefore)) {
+            return false;
+        }
+        if (minHypeLevel != null && framework.getHypeLevel() < minHypeLevel) {
+            return false;
+        }
+        return maxHypeLevel == null || framework.getHypeLevel() <= maxHypeLevel;
+    }
+
+    /**
+     * @param frameworkName name of a framework
+     * @return true if the name contains the searched name, respecting {@link #nameIgnoreCase}
+     */
+    public boolean nameMatches(final String frameworkName) {
+        return isNameIgnoreCase()
+                ? frameworkName.toLowerCase(Locale.ROOT).contains(name.toLowerCase(Locale.ROOT))
+                : frameworkName.contains(name);
+    }
+
+    /**
+     * @param frameworkVersions versions of a framework
+     * @return true if one version, the latest if requested, satisfies all version filters
+     */
+    private boolean versionMatches(final List<String> frameworkVersions) {
+        Stream<String> candidates = frameworkVersions.stream();
+        if (isLatestVersion()) {
+            OptionalInt latest = SemanticVersion.latest(frameworkVersions);
+            candidates = latest.isPresent() ? Stream.of(frameworkVersions.get(latest.getAsInt())) : Stream.empty();
+        }
+        return candidates.anyMatch(candidate -> (CollectionUtils.isEmpty(version) || version.contains(candidate))
+                && (versionRange == null || versionRange.matches(candidate)));
+    }
+
+    private static boolean hasWildcard(final String pattern) {
+        return pattern.indexOf('%') >= 0 || pattern.indexOf('_') >= 0 || pattern.indexOf('\\') >= 0;
+    }
 }
@@ -0,0 +1,121 @@
+package com.etnetera.hr.dto;
+
+import com.etnetera.hr.data.SemanticVersion;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Range of {@link SemanticVersion semantic versions} given by comparators separated by spaces,
+ * e.g. {@code >=2.0 <3}. A version without operator is an exact match.
+ *
+ * @author Etnetera
+ */
+@Getter
+@EqualsAndHashCode
+public final class VersionRange {
+
+    private static final Pattern BOUND = Pattern.compile("\\s*(>=|<=|>|<|=)?\\s*(\\S+)\\s*");
+
+    private final List<Bound> bounds;
+
+    private VersionRange(final List<Bound> bounds) {
+        this.bounds = List.copyOf(bounds);
+    }
+
+    /**
+     * Parse the range, used also for binding of request parameters
+     *
+     * @param range comparators separated by spaces
+     * @return parsed range
+     * @throws IllegalArgumentException if the range is empty or a version is not numeric
+     */
+    public static VersionRange valueOf(final String range) {
+        List<Bound> bounds = new ArrayList<>();
+        Matcher matcher = BOUND.matcher(range);
+        int start = 0;
+        while (start < range.length()) {
+            if (!matcher.find(start) || matcher.start() != start) {
+                throw new IllegalArgumentException("Invalid version range: " + range);
+            }
+            SemanticVersion version = SemanticVersion.parse(matcher.group(2))
+                    .orElseThrow(() -> new IllegalArgumentException("Invalid version in range: " + range));
+            bounds.add(new Bound(Operator.of(matcher.group(1)), version));
+            start = matcher.end();
+        }
+        if (bounds.isEmpty()) {
+            throw new IllegalArgumentException("Empty version range");
+        }
+        return new VersionRange(bounds);
+    }
+
+    /**
+     * @param version version of a framework
+     * @return true if the version is numeric and satisfies all bounds
+     */
+    public boolean matches(final String version) {
+        return SemanticVersion.parse(version)
+                .map(parsed -> bounds.stream().allMatch(bound -> bound.matches(parsed)))
+                .orElse(false);
+    }
+
+    @Override
+    public String toString() {
+        return bounds.stream().map(Bound::toString).collect(Collectors.joining(" "));
+    }
+
+    @Value
+    public static class Bound {
+        Operator operator;
+        SemanticVersion version;
+
+        boolean matches(final SemanticVersion other) {
+            int comparison = other.compareTo(version);
+            switch (operator) {
+                case GREATER:
+                    return comparison > 0;
+                case GREATER_OR_EQUAL:
+                    return comparison >= 0;
+                case LESS:
+                    return comparison < 0;
+                case LESS_OR_EQUAL:
+                    return comparison <= 0;
+                default:
+                    return comparison == 0;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return operator.getSymbol() + version;
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public enum Operator {
+        GREATER(">"),
+        GREATER_OR_EQUAL(">="),
+        LESS("<"),
+        LESS_OR_EQUAL("<="),
+        EQUAL("=");
+
+        private final String symbol;
+
+        static Operator of(final String symbol) {
+            for (Operator operator : values()) {
+                if (operator.symbol.equals(symbol)) {
+                    return operator;
+                }
+            }
+            return EQUAL;
+        }
+    }
+}
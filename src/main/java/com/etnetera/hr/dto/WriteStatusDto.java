@@ -0,0 +1,34 @@
+package com.etnetera.hr.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * State of a write accepted for asynchronous processing.
+ *
+ * @author Etnetera
+ */
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class WriteStatusDto {
+
+    public enum Status {
+        PENDING, CREATED, UPDATED, NOT_FOUND, INVALID, FAILED
+    }
+
+    /**
+     * Id of the write, part of its status URL
+     */
+    private final String id;
+
+    private final Status status;
+
+    /**
+     * Id of the written framework, known once a create is committed
+     */
+    private final Long frameworkId;
+
+    private final String error;
+}
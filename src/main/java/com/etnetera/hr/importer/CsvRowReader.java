@@ -0,0 +1,214 @@
+package com.etnetera.hr.importer;
+
+import com.etnetera.hr.dto.JSFrameworkDto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Reader of RFC 4180 comma separated values. The header row names the columns after the fields of the API,
+ * {@value #NAME}, {@value #VERSION}, {@value #DEPRECATION_DATE} and {@value #HYPE_LEVEL} in any order, other
+ * columns are ignored. Versions of a framework are separated by {@value #VERSION_SEPARATOR}, dates are ISO dates.
+ * Quoted values can contain commas, line breaks and doubled quotes.
+ *
+ * @author Etnetera
+ */
+public class CsvRowReader implements ImportRowReader {
+
+    public static final String NAME = "name";
+
+    public static final String VERSION = "version";
+
+    public static final String DEPRECATION_DATE = "deprecationDate";
+
+    public static final String HYPE_LEVEL = "hypeLevel";
+
+    public static final char VERSION_SEPARATOR = ';';
+
+    private static final String BYTE_ORDER_MARK = "\uFEFF";
+
+    private static final List<String> COLUMNS = List.of(NAME, VERSION, DEPRECATION_DATE, HYPE_LEVEL);
+
+    private final BufferedReader body;
+
+    private final int maximumRowLength;
+
+    /**
+     * Index of every known column in a record
+     */
+    private final Map<String, Integer> columns = new HashMap<>();
+
+    private final int headerSize;
+
+    /**
+     * Number of the line being read
+     */
+    private long line = 1;
+
+    /**
+     * Read the header row
+     *
+     * @param body             body to read
+     * @param maximumRowLength maximum length of one row
+     * @throws IOException              if the body can not be read
+     * @throws IllegalArgumentException if the header row is missing a column
+     */
+    public CsvRowReader(final Reader body, final int maximumRowLength) throws IOException {
+        this.body = new BufferedReader(body);
+        this.maximumRowLength = maximumRowLength;
+        Record header = readRecord();
+        // a byte order mark is not a part of the first column name
+        List<String> names = header == null ? List.of() : header.values.stream()
+                .map(name -> name.replace(BYTE_ORDER_MARK, "").trim())
+                .collect(Collectors.toList());
+        this.headerSize = names.size();
+        for (String column : COLUMNS) {
+            if (!names.contains(column)) {
+                throw new IllegalArgumentException("Header row has no column " + column);
+            }
+            columns.put(column, names.indexOf(column));
+        }
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        Record record;
+        do {
+            record = readRecord();
+        } while (record != null && record.isBlank());
+        if (record == null) {
+            return null;
+        }
+        if (record.error != null) {
+            return ImportRow.rejected(record.line, record.error);
+        }
+        if (record.values.size() < headerSize) {
+            return ImportRow.rejected(record.line, "row has " + record.values.size() + " columns, the header has " + headerSize);
+        }
+        try {
+            return ImportRow.of(record.line, JSFrameworkDto.builder()
+                    .name(value(record, NAME))
+                    .version(versions(value(record, VERSION)))
+                    .deprecationDate(value(record, DEPRECATION_DATE) == null ? null : LocalDate.parse(value(record, DEPRECATION_DATE)))
+                    .hypeLevel(value(record, HYPE_LEVEL) == null ? null : Integer.valueOf(value(record, HYPE_LEVEL)))
+                    .build());
+        } catch (DateTimeParseException e) {
+            return ImportRow.rejected(record.line, DEPRECATION_DATE + " is not an ISO date");
+        } catch (NumberFormatException e) {
+            return ImportRow.rejected(record.line, HYPE_LEVEL + " is not an integer");
+        }
+    }
+
+    /**
+     * @return trimmed value of the column, null if empty
+     */
+    private String value(final Record record, final String column) {
+        String value = record.values.get(columns.get(column)).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static List<String> versions(final String value) {
+        return value == null ? null : Arrays.stream(value.split(String.valueOf(VERSION_SEPARATOR)))
+                .map(String::trim)
+                .filter(version -> !version.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Read values up to the next line break outside of quotes. Values of a row over the maximum length are dropped,
+     * the row is read to its end only to continue with the next one.
+     *
+     * @return next record, null at the end of the body
+     */
+    private Record readRecord() throws IOException {
+        int character = body.read();
+        if (character == -1) {
+            return null;
+        }
+        Record record = new Record(line);
+        boolean quoted = false;
+        for (int length = 1; character != -1 && (quoted || character != '\n'); character = body.read(), length++) {
+            if (length > maximumRowLength && record.error == null) {
+                record.reject("row is longer than " + maximumRowLength + " characters");
+            }
+            if (character == '\n') {
+                line++;
+            }
+            if (quoted && character == '"') {
+                body.mark(1);
+                if (body.read() == '"') {
+                    record.append('"');
+                } else {
+                    body.reset();
+                    quoted = false;
+                }
+            } else if (quoted) {
+                record.append((char) character);
+            } else if (character == '"') {
+                quoted = true;
+            } else if (character == ',') {
+                record.endValue();
+            } else if (character != '\r') {
+                record.append((char) character);
+            }
+        }
+        if (character == '\n') {
+            line++;
+        }
+        if (quoted && record.error == null) {
+            record.reject("quoted value is not closed");
+        }
+        record.endValue();
+        return record;
+    }
+
+    /**
+     * Values of one row
+     */
+    private static class Record {
+
+        private final long line;
+
+        private final List<String> values = new ArrayList<>();
+
+        private final StringBuilder value = new StringBuilder();
+
+        private String error;
+
+        Record(final long line) {
+            this.line = line;
+        }
+
+        void append(final char character) {
+            if (error == null) {
+                value.append(character);
+            }
+        }
+
+        void endValue() {
+            if (error == null) {
+                values.add(value.toString());
+            }
+            value.setLength(0);
+        }
+
+        void reject(final String reason) {
+            error = reason;
+            values.clear();
+            value.setLength(0);
+        }
+
+        boolean isBlank() {
+            return error == null && values.size() == 1 && values.get(0).isBlank();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.etnetera.hr.importer;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration of {@link FrameworkImporter}.
+ *
+ * @author Etnetera
+ */
+@Data
+@Component
+@ConfigurationProperties("frameworks.import")
+public class FrameworkImportProperties {
+
+    /**
+     * Number of rejected rows whose reasons are reported, further ones are only counted
+     */
+    private int maximumRejections = 1000;
+
+    /**
+     * Maximum length of one row, longer rows are rejected without being kept in memory
+     */
+    private int maximumRowLength = 65_536;
+}
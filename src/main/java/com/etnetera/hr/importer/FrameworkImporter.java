@@ -0,0 +1,114 @@
+package com.etnetera.hr.importer;
+
+import com.etnetera.hr.dto.BulkItemResultDto;
+import com.etnetera.hr.dto.FrameworkImportDto;
+import com.etnetera.hr.dto.JSFrameworkDto;
+import com.etnetera.hr.service.FrameworkBulkProperties;
+import com.etnetera.hr.service.JavaScriptFrameworkService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Imports frameworks row by row as they are read, upserting them by name in batches of
+ * {@link FrameworkBulkProperties#getChunkSize()}, each in its own transaction. Only one batch is kept in memory,
+ * so the body can be of any size. Rows equal to the stored framework are not written, so repeating an import
+ * writes nothing. Batches written before a failure to read the body stay written.
+ *
+ * @author Etnetera
+ */
+@Component
+@RequiredArgsConstructor
+public class FrameworkImporter {
+
+    private final JavaScriptFrameworkService service;
+
+    private final FrameworkBulkProperties bulkProperties;
+
+    private final FrameworkImportProperties properties;
+
+    /**
+     * Import all rows of the reader
+     *
+     * @param rows reader of the imported body
+     * @return numbers of inserted, updated, unchanged and rejected rows
+     * @throws IOException if the body can not be read
+     */
+    public FrameworkImportDto importFrameworks(final ImportRowReader rows) throws IOException {
+        Summary summary = new Summary();
+        List<ImportRow> batch = new ArrayList<>(bulkProperties.getChunkSize());
+        for (ImportRow row = rows.next(); row != null; row = rows.next()) {
+            if (row.getError() != null) {
+                summary.reject(row.getLine(), row.getError());
+                continue;
+            }
+            batch.add(row);
+            if (batch.size() == bulkProperties.getChunkSize()) {
+                upsert(batch, summary);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            upsert(batch, summary);
+        }
+        return summary.build();
+    }
+
+    private void upsert(final List<ImportRow> batch, final Summary summary) {
+        List<JSFrameworkDto> frameworks = new ArrayList<>(batch.size());
+        batch.forEach(row -> frameworks.add(row.getFramework()));
+        List<BulkItemResultDto> results = service.upsertFrameworks(frameworks);
+        for (int i = 0; i < results.size(); i++) {
+            BulkItemResultDto result = results.get(i);
+            switch (result.getStatus()) {
+                case CREATED:
+                    summary.inserted++;
+                    break;
+                case UPDATED:
+                    summary.updated++;
+                    break;
+                case UNCHANGED:
+                    summary.unchanged++;
+                    break;
+                default:
+                    summary.reject(batch.get(i).getLine(), result.getError() != null ? result.getError() : result.getStatus().name());
+            }
+        }
+    }
+
+    /**
+     * Counts of an import in progress
+     */
+    private class Summary {
+
+        private long inserted;
+
+        private long updated;
+
+        private long unchanged;
+
+        private long rejected;
+
+        private final List<FrameworkImportDto.Rejection> rejections = new ArrayList<>();
+
+        void reject(final long line, final String error) {
+            rejected++;
+            if (rejections.size() < properties.getMaximumRejections()) {
+                rejections.add(FrameworkImportDto.Rejection.builder().line(line).error(error).build());
+            }
+        }
+
+        FrameworkImportDto build() {
+            return FrameworkImportDto.builder()
+                    .inserted(inserted)
+                    .updated(updated)
+                    .unchanged(unchanged)
+                    .rejected(rejected)
+                    .rejections(rejections)
+                    .build();
+        }
+    }
+}
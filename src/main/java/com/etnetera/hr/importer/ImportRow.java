@@ -0,0 +1,40 @@
+package com.etnetera.hr.importer;
+
+import com.etnetera.hr.dto.JSFrameworkDto;
+import lombok.Value;
+
+/**
+ * Row of an imported body, either a framework or the reason it could not be read.
+ *
+ * @author Etnetera
+ */
+@Value
+public class ImportRow {
+
+    /**
+     * Line of the body the row starts on, from 1
+     */
+    long line;
+
+    JSFrameworkDto framework;
+
+    String error;
+
+    /**
+     * @param line      line the row starts on
+     * @param framework read framework
+     * @return row of the content of the framework, without its identity, revision and modification time
+     */
+    static ImportRow of(final long line, final JSFrameworkDto framework) {
+        return new ImportRow(line, JSFrameworkDto.builder()
+                .name(framework.getName())
+                .version(framework.getVersion())
+                .deprecationDate(framework.getDeprecationDate())
+                .hypeLevel(framework.getHypeLevel())
+                .build(), null);
+    }
+
+    static ImportRow rejected(final long line, final String error) {
+        return new ImportRow(line, null, error);
+    }
+}
@@ -0,0 +1,18 @@
+package com.etnetera.hr.importer;
+
+import java.io.IOException;
+
+/**
+ * Incremental reader of the rows of an imported body, reading only as much of the body as one row needs.
+ * Identity, revision and modification time of the read frameworks are ignored, imports match frameworks by name.
+ *
+ * @author Etnetera
+ */
+public interface ImportRowReader {
+
+    /**
+     * @return next row, null at the end of the body
+     * @throws IOException if the body can not be read
+     */
+    ImportRow next() throws IOException;
+}
@@ -0,0 +1,66 @@
+package com.etnetera.hr.importer;
+
+import com.etnetera.hr.dto.JSFrameworkDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reader of newline delimited JSON, one framework per line in the format of the API. Blank lines are skipped.
+ *
+ * @author Etnetera
+ */
+public class NdjsonRowReader implements ImportRowReader {
+
+    private final BufferedReader body;
+
+    private final ObjectReader frameworkReader;
+
+    private final int maximumRowLength;
+
+    /**
+     * Number of the last read line
+     */
+    private long line;
+
+    public NdjsonRowReader(final Reader body, final ObjectMapper objectMapper, final int maximumRowLength) {
+        this.body = new BufferedReader(body);
+        this.frameworkReader = objectMapper.readerFor(JSFrameworkDto.class);
+        this.maximumRowLength = maximumRowLength;
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        while (true) {
+            StringBuilder row = new StringBuilder();
+            boolean tooLong = false;
+            int character;
+            line++;
+            while ((character = body.read()) != -1 && character != '\n') {
+                if (row.length() < maximumRowLength) {
+                    row.append((char) character);
+                } else {
+                    tooLong = true;
+                }
+            }
+            if (tooLong) {
+                return ImportRow.rejected(line, "row is longer than " + maximumRowLength + " characters");
+            }
+            String json = row.toString().trim();
+            if (!json.isEmpty()) {
+                try {
+                    return ImportRow.of(line, frameworkReader.readValue(json));
+                } catch (JsonProcessingException e) {
+                    return ImportRow.rejected(line, e.getOriginalMessage());
+                }
+            }
+            if (character == -1) {
+                return null;
+            }
+        }
+    }
+}
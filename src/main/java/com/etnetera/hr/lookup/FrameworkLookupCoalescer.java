@@ -0,0 +1,139 @@
+package com.etnetera.hr.lookup;
+
+import com.etnetera.hr.dto.JSFrameworkDto;
+import com.etnetera.hr.repository.JavaScriptFrameworkRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Coalesces lookups of single frameworks by id made at about the same time into one batched query,
+ * in the manner of a DataLoader.
+ * <p>
+ * The first lookup of a batch waits for {@link FrameworkLookupProperties#getWindow()} or until the batch has
+ * {@link FrameworkLookupProperties#getMaximumBatchSize()} ids, whichever comes first, and then queries all ids
+ * of the batch on its own thread. Lookups arriving meanwhile join the batch and wait for its result, lookups of
+ * the same id share one. Sizes of the queried batches are recorded in the {@code frameworks.lookup.batch}
+ * distribution.
+ *
+ * @author Etnetera
+ */
+@Component
+public class FrameworkLookupCoalescer {
+
+    private final JavaScriptFrameworkRepository repository;
+
+    private final FrameworkLookupProperties properties;
+
+    private final TransactionTemplate transaction;
+
+    private final DistributionSummary batchSizes;
+
+    /**
+     * Batch accepting lookups, null until the next lookup, guarded by this
+     */
+    private Batch open;
+
+    public FrameworkLookupCoalescer(final JavaScriptFrameworkRepository repository,
+                                    final PlatformTransactionManager transactionManager,
+                                    final FrameworkLookupProperties properties,
+                                    final MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.properties = properties;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.transaction.setReadOnly(true);
+        this.batchSizes = DistributionSummary.builder("frameworks.lookup.batch")
+                .description("Ids of frameworks queried by one coalesced lookup")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return properties.isCoalescing();
+    }
+
+    /**
+     * Get single framework by id as part of a batch
+     *
+     * @param id of framework
+     * @return found framework
+     */
+    public Optional<JSFrameworkDto> getById(final Long id) {
+        Batch batch;
+        boolean first;
+        CompletableFuture<Optional<JSFrameworkDto>> result;
+        synchronized (this) {
+            first = open == null;
+            if (first) {
+                open = new Batch();
+            }
+            batch = open;
+            result = batch.results.computeIfAbsent(id, key -> new CompletableFuture<>());
+            if (batch.results.size() >= properties.getMaximumBatchSize()) {
+                open = null;
+                batch.full.countDown();
+            }
+        }
+        if (first) {
+            batch.await(properties.getWindow().toNanos());
+            synchronized (this) {
+                if (open == batch) {
+                    open = null;
+                }
+            }
+            load(batch);
+        }
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    /**
+     * Query all ids of the closed batch and complete their lookups
+     */
+    private void load(final Batch batch) {
+        batchSizes.record(batch.results.size());
+        try {
+            List<JSFrameworkDto> found = transaction.execute(status -> repository.findDtosByIds(batch.results.keySet()));
+            Map<Long, JSFrameworkDto> byId = found.stream().collect(Collectors.toMap(JSFrameworkDto::getId, Function.identity()));
+            batch.results.forEach((id, result) -> result.complete(Optional.ofNullable(byId.get(id))));
+        } catch (RuntimeException | Error e) {
+            batch.results.values().forEach(result -> result.completeExceptionally(e));
+        }
+    }
+
+    /**
+     * Lookups of one batch, not changed once the batch is closed
+     */
+    private static class Batch {
+
+        private final Map<Long, CompletableFuture<Optional<JSFrameworkDto>>> results = new HashMap<>();
+
+        private final CountDownLatch full = new CountDownLatch(1);
+
+        /**
+         * Wait until the batch is full or the window passes, an interrupted lookup queries the batch right away
+         */
+        private void await(final long windowNanos) {
+            try {
+                full.await(windowNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
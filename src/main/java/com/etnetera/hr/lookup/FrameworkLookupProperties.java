@@ -0,0 +1,33 @@
+package com.etnetera.hr.lookup;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration of {@link FrameworkLookupCoalescer}.
+ *
+ * @author Etnetera
+ */
+@Data
+@Component
+@ConfigurationProperties("frameworks.lookup")
+public class FrameworkLookupProperties {
+
+    /**
+     * Whether lookups of single frameworks by id missing the cache are coalesced into batched queries
+     */
+    private boolean coalescing = false;
+
+    /**
+     * Time the first lookup of a batch waits for further lookups, it adds to the latency of every coalesced lookup
+     */
+    private Duration window = Duration.ofMillis(2);
+
+    /**
+     * Number of ids after which a batch is queried without waiting for the rest of the window
+     */
+    private int maximumBatchSize = 100;
+}
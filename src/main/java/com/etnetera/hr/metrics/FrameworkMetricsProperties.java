@@ -0,0 +1,23 @@
+package com.etnetera.hr.metrics;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration of framework metrics.
+ *
+ * @author Etnetera
+ */
+@Data
+@Component
+@ConfigurationProperties("frameworks.metrics")
+public class FrameworkMetricsProperties {
+
+    /**
+     * Repository calls taking at least this long are logged as slow queries, zero logs every call
+     */
+    private Duration slowQueryThreshold = Duration.ofMillis(200);
+}
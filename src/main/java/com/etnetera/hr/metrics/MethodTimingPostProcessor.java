@@ -0,0 +1,57 @@
+package com.etnetera.hr.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Adds a {@link TimingInterceptor} in front of the proxies of services and repositories,
+ * so calls are timed including their transaction. Repository calls are timed as queries,
+ * which are also logged when slow.
+ * <p>
+ * Both kinds of beans are already proxied for transactions, the interceptor is added to the existing proxy
+ * and beans which are not proxies, such as mocks, are left alone.
+ *
+ * @author Etnetera
+ */
+@RequiredArgsConstructor
+class MethodTimingPostProcessor implements BeanPostProcessor {
+
+    static final String SERVICE_METRIC = "frameworks.service";
+
+    static final String REPOSITORY_METRIC = "frameworks.repository";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    private final ObjectProvider<FrameworkMetricsProperties> properties;
+
+    @Override
+    public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+        if (!(bean instanceof Advised) || ((Advised) bean).isFrozen()) {
+            return bean;
+        }
+        Advised proxy = (Advised) bean;
+        if (bean instanceof Repository) {
+            String className = Arrays.stream(proxy.getProxiedInterfaces())
+                    .filter(Repository.class::isAssignableFrom)
+                    .findFirst()
+                    .map(Class::getSimpleName)
+                    .orElse(beanName);
+            Duration threshold = properties.getObject().getSlowQueryThreshold();
+            proxy.addAdvice(0, new TimingInterceptor(meterRegistry, REPOSITORY_METRIC, className, threshold));
+        } else if (AnnotationUtils.findAnnotation(AopUtils.getTargetClass(bean), Service.class) != null) {
+            String className = AopUtils.getTargetClass(bean).getSimpleName();
+            proxy.addAdvice(0, new TimingInterceptor(meterRegistry, SERVICE_METRIC, className, null));
+        }
+        return bean;
+    }
+}
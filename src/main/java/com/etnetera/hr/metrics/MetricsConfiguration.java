@@ -0,0 +1,48 @@
+package com.etnetera.hr.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Metrics of services, repositories and SQL statements on top of the request and connection pool metrics
+ * of Spring Boot. Everything is published by the {@code prometheus} actuator endpoint.
+ *
+ * @author Etnetera
+ */
+@Configuration
+public class MetricsConfiguration {
+
+    @Bean
+    public static MethodTimingPostProcessor methodTimingPostProcessor(final ObjectProvider<MeterRegistry> meterRegistry,
+                                                                      final ObjectProvider<FrameworkMetricsProperties> properties) {
+        return new MethodTimingPostProcessor(meterRegistry, properties);
+    }
+
+    @Bean
+    public StatementCounter statementCounter() {
+        return new StatementCounter();
+    }
+
+    /**
+     * Count statements unless another statement inspector is configured
+     */
+    @Bean
+    public HibernatePropertiesCustomizer statementCounterInspector(final StatementCounter statementCounter) {
+        return properties -> properties.putIfAbsent(AvailableSettings.STATEMENT_INSPECTOR, statementCounter);
+    }
+
+    @Bean
+    public FilterRegistrationBean<StatementCountFilter> statementCountFilter(final StatementCounter statementCounter,
+                                                                             final MeterRegistry meterRegistry) {
+        FilterRegistrationBean<StatementCountFilter> registration =
+                new FilterRegistrationBean<>(new StatementCountFilter(statementCounter, meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
@@ -0,0 +1,35 @@
+package com.etnetera.hr.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate statement inspector counting SQL statements prepared by the current thread.
+ *
+ * @author Etnetera
+ */
+public class StatementCounter implements StatementInspector {
+
+    private final ThreadLocal<int[]> count = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public String inspect(final String sql) {
+        count.get()[0]++;
+        return sql;
+    }
+
+    /**
+     * Start counting the statements of the current thread from zero
+     */
+    public void reset() {
+        count.get()[0] = 0;
+    }
+
+    /**
+     * Statements prepared by the current thread since the last reset
+     *
+     * @return statement count
+     */
+    public int count() {
+        return count.get()[0];
+    }
+}
@@ -0,0 +1,65 @@
+package com.etnetera.hr.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Records every call of a bean in a timer tagged by the class, the method and the thrown exception.
+ * Calls taking at least the slow threshold are also logged, when the threshold is set.
+ * A call returning a {@link Stream} is recorded when the stream is closed, as its rows are fetched while it is consumed.
+ *
+ * @author Etnetera
+ */
+@Slf4j
+@RequiredArgsConstructor
+class TimingInterceptor implements MethodInterceptor {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    private final String metricName;
+
+    private final String className;
+
+    private final Duration slowThreshold;
+
+    @Override
+    public Object invoke(final MethodInvocation invocation) throws Throwable {
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = invocation.proceed();
+        } catch (Throwable e) {
+            record(invocation, e.getClass().getSimpleName(), start);
+            throw e;
+        }
+        if (result instanceof Stream) {
+            // rows of a stream are fetched as it is consumed, the call ends when it is closed
+            return ((Stream<?>) result).onClose(() -> record(invocation, "none", start));
+        }
+        record(invocation, "none", start);
+        return result;
+    }
+
+    private void record(final MethodInvocation invocation, final String exception, final long start) {
+        long duration = System.nanoTime() - start;
+        String method = invocation.getMethod().getName();
+        Timer.builder(metricName)
+                .tag("class", className)
+                .tag("method", method)
+                .tag("exception", exception)
+                .register(meterRegistry.getObject())
+                .record(duration, TimeUnit.NANOSECONDS);
+        if (slowThreshold != null && duration >= slowThreshold.toNanos()) {
+            log.warn("Slow query {}.{} took {} ms", className, method, TimeUnit.NANOSECONDS.toMillis(duration));
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.etnetera.hr.repository;
+
+/**
+ * Projection of framework content used to find unchanged frameworks without loading them.
+ *
+ * @author Etnetera
+ */
+public interface FrameworkContentHash {
+
+    Long getId();
+
+    String getName();
+
+    String getContentHash();
+}
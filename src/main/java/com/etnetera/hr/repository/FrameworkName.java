@@ -0,0 +1,13 @@
+package com.etnetera.hr.repository;
+
+/**
+ * Projection of a framework to its id and name.
+ *
+ * @author Etnetera
+ */
+public interface FrameworkName {
+
+    Long getId();
+
+    String getName();
+}
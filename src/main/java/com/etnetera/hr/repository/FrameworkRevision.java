@@ -0,0 +1,17 @@
+package com.etnetera.hr.repository;
+
+import java.time.Instant;
+
+/**
+ * Projection of framework state used to answer conditional requests without loading the framework.
+ *
+ * @author Etnetera
+ */
+public interface FrameworkRevision {
+
+    Long getId();
+
+    Long getRevision();
+
+    Instant getLastModified();
+}
@@ -1,15 +1,79 @@
 package com.etnetera.hr.repository;
 
 import com.etnetera.hr.data.JavaScriptFramework;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 /**
  * Spring data repository interface used for accessing the data in database.
+ * <p>
+ * Reads serving the API are projections, see {@link JavaScriptFrameworkRepositoryCustom}. Entities are loaded
+ * only to be written; lookups and list join the versions through the {@link JavaScriptFramework#WITH_VERSIONS}
+ * graph unless the framework is in the second-level cache, any other query loads them in batches.
  *
  * @author Etnetera
  */
-public interface JavaScriptFrameworkRepository extends JpaRepository<JavaScriptFramework, Long>, JpaSpecificationExecutor<JavaScriptFramework> {
+public interface JavaScriptFrameworkRepository extends JpaRepository<JavaScriptFramework, Long>, JpaSpecificationExecutor<JavaScriptFramework>,
+        JavaScriptFrameworkRepositoryCustom {
+
+    @Override
+    @EntityGraph(JavaScriptFramework.WITH_VERSIONS)
+    Optional<JavaScriptFramework> findById(Long id);
+
+    @Override
+    @EntityGraph(JavaScriptFramework.WITH_VERSIONS)
+    List<JavaScriptFramework> findAll();
+
+    @Override
+    @EntityGraph(JavaScriptFramework.WITH_VERSIONS)
+    List<JavaScriptFramework> findAll(Specification<JavaScriptFramework> spec, Sort sort);
+
+    /**
+     * Revision of framework, without loading its versions
+     *
+     * @param id of framework
+     * @return revision of found framework
+     */
+    Optional<FrameworkRevision> findRevisionById(Long id);
+
+    /**
+     * Revisions of a keyset page of frameworks ordered by id, without loading their versions
+     *
+     * @param after    id of the last framework of the previous page
+     * @param pageable page size, the page number is expected to be always 0
+     * @return revisions of frameworks with id greater than {@code after}
+     */
+    List<FrameworkRevision> findRevisionsByIdGreaterThanOrderByIdAsc(Long after, Pageable pageable);
 
+    /**
+     * Content hashes of frameworks by name, without loading their versions
+     *
+     * @param names names of frameworks
+     * @return content hashes of frameworks with one of the names
+     */
+    List<FrameworkContentHash> findContentHashesByNameIn(Collection<String> names);
 
+    /**
+     * Stream ids and names of all frameworks.
+     * Has to be consumed and closed inside a transaction.
+     *
+     * @return stream of all framework names
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("select f.id as id, f.name as name from JavaScriptFramework f")
+    Stream<FrameworkName> streamAllNames();
 }
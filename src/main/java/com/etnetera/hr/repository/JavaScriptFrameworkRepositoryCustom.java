@@ -0,0 +1,89 @@
+package com.etnetera.hr.repository;
+
+import com.etnetera.hr.dto.FrameworkFields;
+import com.etnetera.hr.dto.JSFrameworkDto;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.stream.Stream;
+
+/**
+ * Queries of {@link JavaScriptFrameworkRepository} not expressible by Spring data.
+ * <p>
+ * Reads project the framework columns and the joined versions into flat rows grouped into {@link JSFrameworkDto},
+ * so they do not create entities, snapshots for dirty checking or anything else in the persistence context.
+ *
+ * @author Etnetera
+ */
+public interface JavaScriptFrameworkRepositoryCustom {
+
+    /**
+     * Get single framework by id
+     *
+     * @param id of framework
+     * @return found framework
+     */
+    Optional<JSFrameworkDto> findDtoById(Long id);
+
+    /**
+     * Get frameworks by ids in one query, the versions of all of them joined
+     *
+     * @param ids of frameworks
+     * @return found frameworks ordered by id, ids without a framework are left out
+     */
+    List<JSFrameworkDto> findDtosByIds(Collection<Long> ids);
+
+    /**
+     * Keyset page of frameworks ordered by id, versions are joined only if selected
+     *
+     * @param after  id of the last framework of the previous page
+     * @param limit  maximum number of frameworks
+     * @param fields fields to select, the others are null
+     * @return frameworks with id greater than {@code after}
+     */
+    List<JSFrameworkDto> findDtoPage(Long after, int limit, FrameworkFields fields);
+
+    /**
+     * Stream all frameworks ordered by id through a forward-only cursor.
+     * Has to be consumed and closed inside a transaction.
+     *
+     * @return stream of all frameworks
+     */
+    Stream<JSFrameworkDto> streamAllDtos();
+
+    /**
+     * Stream fields of frameworks matching the specification in its order through a forward-only cursor.
+     * Versions are joined only if the specification selects them.
+     * Has to be consumed and closed inside a transaction.
+     *
+     * @param spec search specification
+     * @return stream of found frameworks
+     */
+    Stream<JSFrameworkDto> streamDtos(JavaScriptFrameworkSpecification spec);
+
+    /**
+     * Count frameworks matching the specification per hype level
+     *
+     * @param spec search specification
+     * @return number of frameworks per hype level
+     */
+    SortedMap<Integer, Long> countByHypeLevel(JavaScriptFrameworkSpecification spec);
+
+    /**
+     * Count frameworks matching the specification per year of deprecation date
+     *
+     * @param spec search specification
+     * @return number of frameworks per deprecation year
+     */
+    SortedMap<Integer, Long> countByDeprecationYear(JavaScriptFrameworkSpecification spec);
+
+    /**
+     * Count frameworks matching the specification per version
+     *
+     * @param spec search specification
+     * @return number of frameworks per version
+     */
+    SortedMap<String, Long> countByVersion(JavaScriptFrameworkSpecification spec);
+}
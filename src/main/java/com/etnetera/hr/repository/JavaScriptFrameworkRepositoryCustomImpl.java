@@ -0,0 +1,254 @@
+package com.etnetera.hr.repository;
+
+import com.etnetera.hr.data.FrameworkVersion;
+import com.etnetera.hr.data.JavaScriptFramework;
+import com.etnetera.hr.dto.FrameworkFields;
+import com.etnetera.hr.dto.FrameworkFields.Field;
+import com.etnetera.hr.dto.JSFrameworkDto;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.FlushMode;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.*;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.util.Spliterator.NONNULL;
+import static java.util.Spliterator.ORDERED;
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_REGION;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_FLUSH_MODE;
+
+/**
+ * JPQL and criteria implementation of {@link JavaScriptFrameworkRepositoryCustom}.
+ * <p>
+ * Lookups of a single id and aggregates are cached by the query cache, until a write to the framework tables.
+ * Streamed queries are not, Hibernate does not cache scrolled results.
+ *
+ * @author Etnetera
+ */
+@RequiredArgsConstructor
+public class JavaScriptFrameworkRepositoryCustomImpl implements JavaScriptFrameworkRepositoryCustom {
+
+    private static final int FETCH_SIZE = 500;
+
+    /**
+     * Columns of rows with all fields
+     */
+    private static final List<Field> ALL_COLUMNS = columns(FrameworkFields.ALL);
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Optional<JSFrameworkDto> findDtoById(final Long id) {
+        return group(cacheable(rows(ALL_COLUMNS, "where f.id = :id"))
+                .setParameter("id", id)
+                .getResultList()
+                .stream(), ALL_COLUMNS)
+                .findFirst();
+    }
+
+    @Override
+    public List<JSFrameworkDto> findDtosByIds(final Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        // not cached, lookups of ad hoc sets of ids would only crowd out the single id lookups
+        return group(rows(ALL_COLUMNS, "where f.id in :ids order by f.id")
+                .setParameter("ids", ids)
+                .getResultList()
+                .stream(), ALL_COLUMNS)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    @Override
+    public List<JSFrameworkDto> findDtoPage(final Long after, final int limit, final FrameworkFields fields) {
+        // the limit applies to frameworks, not to the rows multiplied by versions, so the last id is found first
+        List<Long> last = entityManager.createQuery(
+                        "select f.id from JavaScriptFramework f where f.id > :after order by f.id", Long.class)
+                .setParameter("after", after)
+                .setFirstResult(limit - 1)
+                .setMaxResults(1)
+                .setHint(HINT_FLUSH_MODE, FlushMode.MANUAL)
+                .getResultList();
+        List<Field> columns = columns(fields);
+        return group(rows(columns, "where f.id > :after and f.id <= :last order by f.id")
+                .setParameter("after", after)
+                .setParameter("last", last.isEmpty() ? Long.MAX_VALUE : last.get(0))
+                .getResultList()
+                .stream(), columns)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    @Override
+    public Stream<JSFrameworkDto> streamAllDtos() {
+        return group(rows(ALL_COLUMNS, "order by f.id")
+                .setHint(HINT_FETCH_SIZE, FETCH_SIZE)
+                .getResultStream(), ALL_COLUMNS);
+    }
+
+    @Override
+    public Stream<JSFrameworkDto> streamDtos(final JavaScriptFrameworkSpecification spec) {
+        List<Field> columns = columns(spec.getFields());
+        return group(rows(spec, columns).setHint(HINT_FETCH_SIZE, FETCH_SIZE).getResultStream(), columns);
+    }
+
+    @Override
+    public SortedMap<Integer, Long> countByHypeLevel(final JavaScriptFrameworkSpecification spec) {
+        return countBy(spec, Integer.class, (root, cb) -> root.get("hypeLevel"));
+    }
+
+    @Override
+    public SortedMap<Integer, Long> countByDeprecationYear(final JavaScriptFrameworkSpecification spec) {
+        return countBy(spec, Integer.class, (root, cb) -> cb.function("year", Integer.class, root.get("deprecationDate")));
+    }
+
+    @Override
+    public SortedMap<String, Long> countByVersion(final JavaScriptFrameworkSpecification spec) {
+        return countBy(spec, String.class, (root, cb) -> root.join("version").get("value"));
+    }
+
+    /**
+     * Group frameworks matching the specification by the key and count distinct frameworks in every group
+     */
+    private <K> SortedMap<K, Long> countBy(final JavaScriptFrameworkSpecification spec,
+                                           final Class<K> keyType,
+                                           final BiFunction<Root<JavaScriptFramework>, CriteriaBuilder, Expression<?>> key) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<JavaScriptFramework> root = query.from(JavaScriptFramework.class);
+        Expression<?> group = key.apply(root, cb);
+        query.multiselect(group, cb.countDistinct(root))
+                .where(spec.toPredicate(root, query, cb))
+                .groupBy(group);
+        SortedMap<K, Long> counts = new TreeMap<>();
+        for (Tuple tuple : cacheable(entityManager.createQuery(query)).getResultList()) {
+            counts.put(keyType.cast(tuple.get(0)), tuple.get(1, Long.class));
+        }
+        return counts;
+    }
+
+    /**
+     * Query of the framework columns, with one joined version per row if versions are selected,
+     * continued by the clauses. The order has to end with the id, so the rows of one framework follow each other.
+     */
+    private TypedQuery<Object[]> rows(final List<Field> columns, final String clauses) {
+        String select = columns.stream()
+                .map(column -> column == Field.VERSION ? "v.value" : "f." + column.getProperty())
+                .collect(Collectors.joining(", "));
+        String join = columns.contains(Field.VERSION) ? " left join f.version v " : " ";
+        return entityManager.createQuery("select " + select + " from JavaScriptFramework f" + join + clauses, Object[].class)
+                .setHint(HINT_FLUSH_MODE, FlushMode.MANUAL);
+    }
+
+    /**
+     * Query of the framework columns, with one joined version per row if versions are selected,
+     * filtered and ordered by the specification
+     */
+    private TypedQuery<Object[]> rows(final JavaScriptFrameworkSpecification spec, final List<Field> columns) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<JavaScriptFramework> root = query.from(JavaScriptFramework.class);
+        List<Selection<?>> selections = new ArrayList<>();
+        for (Field column : columns) {
+            selections.add(column == Field.VERSION
+                    ? root.<JavaScriptFramework, FrameworkVersion>join("version", JoinType.LEFT).get("value")
+                    : root.get(column.getProperty()));
+        }
+        query.multiselect(selections)
+                .where(spec.toPredicate(root, query, cb))
+                .orderBy(spec.toOrders(root, cb));
+        return entityManager.createQuery(query)
+                .setHint(HINT_FLUSH_MODE, FlushMode.MANUAL);
+    }
+
+    private static <T> TypedQuery<T> cacheable(final TypedQuery<T> query) {
+        return query
+                .setHint(HINT_CACHEABLE, true)
+                .setHint(HINT_CACHE_REGION, JavaScriptFramework.QUERY_CACHE_REGION);
+    }
+
+    /**
+     * Selected fields in the order of their columns, the id first and the joined version last
+     */
+    private static List<Field> columns(final FrameworkFields fields) {
+        return Arrays.stream(Field.values())
+                .filter(fields::contains)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    /**
+     * Group consecutive rows of the same framework into one dto, closing the rows with the returned stream.
+     * Fields without a column are left null.
+     */
+    private static Stream<JSFrameworkDto> group(final Stream<Object[]> rows, final List<Field> columns) {
+        int versionColumn = columns.indexOf(Field.VERSION);
+        Iterator<Object[]> iterator = rows.iterator();
+        Spliterator<JSFrameworkDto> frameworks = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, ORDERED | NONNULL) {
+
+            private Object[] next;
+
+            @Override
+            public boolean tryAdvance(final Consumer<? super JSFrameworkDto> action) {
+                if (next == null) {
+                    if (!iterator.hasNext()) {
+                        return false;
+                    }
+                    next = iterator.next();
+                }
+                Object[] first = next;
+                List<String> versions = new ArrayList<>();
+                Object[] row = first;
+                do {
+                    if (versionColumn >= 0 && row[versionColumn] != null) {
+                        versions.add((String) row[versionColumn]);
+                    }
+                    row = iterator.hasNext() ? iterator.next() : null;
+                } while (row != null && row[0].equals(first[0]));
+                next = row;
+                action.accept(toDto(columns, first, versions));
+                return true;
+            }
+        };
+        return StreamSupport.stream(frameworks, false).onClose(rows::close);
+    }
+
+    private static JSFrameworkDto toDto(final List<Field> columns, final Object[] row, final List<String> versions) {
+        JSFrameworkDto.JSFrameworkDtoBuilder framework = JSFrameworkDto.builder();
+        for (int column = 0; column < columns.size(); column++) {
+            switch (columns.get(column)) {
+                case ID:
+                    framework.id((Long) row[column]);
+                    break;
+                case NAME:
+                    framework.name((String) row[column]);
+                    break;
+                case DEPRECATION_DATE:
+                    framework.deprecationDate((LocalDate) row[column]);
+                    break;
+                case HYPE_LEVEL:
+                    framework.hypeLevel((Integer) row[column]);
+                    break;
+                case REVISION:
+                    framework.revision((Long) row[column]);
+                    break;
+                case LAST_MODIFIED:
+                    framework.lastModified((Instant) row[column]);
+                    break;
+                case VERSION:
+                    framework.version(List.copyOf(versions));
+                    break;
+            }
+        }
+        return framework.build();
+    }
+}
@@ -1,38 +1,85 @@
 package com.etnetera.hr.repository;
 
+import com.etnetera.hr.data.FrameworkVersion;
 import com.etnetera.hr.data.JavaScriptFramework;
+import com.etnetera.hr.data.SemanticVersion;
+import com.etnetera.hr.dto.FrameworkFields;
+import com.etnetera.hr.dto.FrameworkSort;
 import com.etnetera.hr.dto.SearchJSFrameworkDto;
+import com.etnetera.hr.dto.VersionRange;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
-import javax.persistence.criteria.CriteriaBuilder;
-import javax.persistence.criteria.CriteriaQuery;
-import javax.persistence.criteria.Predicate;
-import javax.persistence.criteria.Root;
+import javax.persistence.criteria.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
 
+/**
+ * Specification of frameworks matching {@link SearchJSFrameworkDto}.
+ * <p>
+ * The name filter is a substring match, unless the ids of the frameworks with matching names are already known,
+ * e.g. from {@link com.etnetera.hr.search.FrameworkNameIndex}. All version filters have to be satisfied by the same
+ * version, the latest one of the framework if requested. Results are ordered by {@link #toOrders} and projected
+ * to {@link #getFields()}.
+ *
+ * @author Etnetera
+ */
 @RequiredArgsConstructor
 public class JavaScriptFrameworkSpecification implements Specification<JavaScriptFramework> {
 
+    private static final char ESCAPE = '\\';
+
     private final SearchJSFrameworkDto filter;
 
+    /**
+     * Ids of frameworks matching the name filter, null if they have to be found by the query
+     */
+    private final Collection<Long> nameMatchIds;
+
+    public JavaScriptFrameworkSpecification(final SearchJSFrameworkDto filter) {
+        this(filter, null);
+    }
+
     @Override
     public Predicate toPredicate(Root<JavaScriptFramework> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
         Predicate predicate = cb.conjunction();
 
         if (!StringUtils.isEmpty(filter.getName())) {
-            predicate.getExpressions().add(
-                    cb.like(root.get("name"), String.format("%%%s%%", filter.getName()))
-            );
+            if (nameMatchIds != null) {
+                predicate.getExpressions().add(root.get("id").in(nameMatchIds));
+            } else if (filter.isNameIgnoreCase()) {
+                predicate.getExpressions().add(
+                        cb.like(cb.lower(root.get("name")), String.format("%%%s%%", filter.getName().toLowerCase(Locale.ROOT)))
+                );
+            } else {
+                predicate.getExpressions().add(
+                        cb.like(root.get("name"), String.format("%%%s%%", filter.getName()))
+                );
+            }
         }
 
-        if (!CollectionUtils.isEmpty(filter.getVersion())) {
-            Predicate disjunction = cb.disjunction();
-            filter.getVersion().forEach(v -> disjunction.getExpressions().add(
-                    cb.isMember(v, root.get("version"))
-            ));
-            predicate.getExpressions().add(disjunction);
+        if (!CollectionUtils.isEmpty(filter.getVersion()) || filter.getVersionRange() != null) {
+            // semi-join driven by the version indexes instead of a membership test per framework
+            Subquery<Long> withVersion = query.subquery(Long.class);
+            Root<JavaScriptFramework> framework = withVersion.from(JavaScriptFramework.class);
+            Join<JavaScriptFramework, FrameworkVersion> version = framework.join("version");
+            Predicate versionPredicate = cb.conjunction();
+            if (!CollectionUtils.isEmpty(filter.getVersion())) {
+                versionPredicate.getExpressions().add(version.get("value").in(filter.getVersion()));
+            }
+            if (filter.getVersionRange() != null) {
+                filter.getVersionRange().getBounds()
+                        .forEach(bound -> versionPredicate.getExpressions().add(toPredicate(version, bound, cb)));
+            }
+            if (filter.isLatestVersion()) {
+                versionPredicate.getExpressions().add(cb.isTrue(version.get("latest")));
+            }
+            withVersion.select(framework.get("id")).where(versionPredicate);
+            predicate.getExpressions().add(root.get("id").in(withVersion));
         }
 
         if (filter.getDeprecationDateAfter() != null) {
@@ -61,4 +108,97 @@ public class JavaScriptFrameworkSpecification implements Specification<JavaScrip
 
         return predicate;
     }
+
+    /**
+     * Order of the search results: by the requested sort or by name, names starting with the searched name first
+     * if requested. Ties are broken by id, so the rows of one framework stay together when its versions are joined.
+     *
+     * @param root framework root of the query
+     * @param cb   criteria builder
+     * @return orders of the query
+     */
+    public List<Order> toOrders(Root<JavaScriptFramework> root, CriteriaBuilder cb) {
+        List<Order> orders = new ArrayList<>();
+        if (filter.isNamePrefixFirst() && !StringUtils.isEmpty(filter.getName())) {
+            Predicate startsWith = filter.isNameIgnoreCase()
+                    ? cb.like(cb.lower(root.get("name")), escapeLike(filter.getName().toLowerCase(Locale.ROOT)) + "%", ESCAPE)
+                    : cb.like(root.get("name"), escapeLike(filter.getName()) + "%", ESCAPE);
+            orders.add(cb.asc(cb.selectCase().when(startsWith, 0).otherwise(1)));
+        }
+        FrameworkSort sort = filter.getSort();
+        if (sort == null) {
+            orders.add(cb.asc(root.get("name")));
+        } else {
+            sort.getOrders().forEach(order -> orders.add(order.isDescending()
+                    ? cb.desc(root.get(order.getKey().getProperty()))
+                    : cb.asc(root.get(order.getKey().getProperty()))));
+        }
+        if (sort == null || !sort.contains(FrameworkSort.Key.ID)) {
+            orders.add(cb.asc(root.get("id")));
+        }
+        return orders;
+    }
+
+    /**
+     * @return fields of the search results to select
+     */
+    public FrameworkFields getFields() {
+        return filter.getFieldsOrAll();
+    }
+
+    /**
+     * Compare the major, minor and patch columns of the version with the bound. The comparison of the major part
+     * comes first on its own, so the database can look it up in the index, the other parts only decide ties.
+     */
+    private static Predicate toPredicate(final Path<FrameworkVersion> version, final VersionRange.Bound bound, final CriteriaBuilder cb) {
+        Path<Integer> major = version.get("major");
+        Path<Integer> minor = version.get("minor");
+        Path<Integer> patch = version.get("patch");
+        SemanticVersion value = bound.getVersion();
+        switch (bound.getOperator()) {
+            case GREATER:
+            case GREATER_OR_EQUAL:
+                return cb.and(
+                        cb.greaterThanOrEqualTo(major, value.getMajor()),
+                        cb.or(
+                                cb.greaterThan(major, value.getMajor()),
+                                cb.greaterThan(minor, value.getMinor()),
+                                cb.and(
+                                        cb.equal(minor, value.getMinor()),
+                                        bound.getOperator() == VersionRange.Operator.GREATER
+                                                ? cb.greaterThan(patch, value.getPatch())
+                                                : cb.greaterThanOrEqualTo(patch, value.getPatch())
+                                )
+                        )
+                );
+            case LESS:
+            case LESS_OR_EQUAL:
+                return cb.and(
+                        cb.lessThanOrEqualTo(major, value.getMajor()),
+                        cb.or(
+                                cb.lessThan(major, value.getMajor()),
+                                cb.lessThan(minor, value.getMinor()),
+                                cb.and(
+                                        cb.equal(minor, value.getMinor()),
+                                        bound.getOperator() == VersionRange.Operator.LESS
+                                                ? cb.lessThan(patch, value.getPatch())
+                                                : cb.lessThanOrEqualTo(patch, value.getPatch())
+                                )
+                        )
+                );
+            default:
+                return cb.and(
+                        cb.equal(major, value.getMajor()),
+                        cb.equal(minor, value.getMinor()),
+                        cb.equal(patch, value.getPatch())
+                );
+        }
+    }
+
+    /**
+     * Make LIKE wildcards in the value match literally
+     */
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
 }
@@ -0,0 +1,482 @@
+package com.etnetera.hr.search;
+
+import com.etnetera.hr.data.SemanticVersion;
+import com.etnetera.hr.dto.FrameworkSort;
+import com.etnetera.hr.dto.JSFrameworkDto;
+import com.etnetera.hr.dto.SearchJSFrameworkDto;
+import com.etnetera.hr.repository.JavaScriptFrameworkRepository;
+import lombok.RequiredArgsConstructor;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.IntConsumer;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * In-memory column store answering framework searches without the database.
+ * <p>
+ * Every framework gets a dense row number. Ids, names, hype levels and deprecation dates as epoch days are kept
+ * in columns indexed by row. Names and versions have dictionaries mapping every distinct value to a roaring bitmap
+ * of its rows, hype levels and deprecation days sorted dictionaries, so a range is the union of the bitmaps of a
+ * sub-map. A search starts with the bitmaps of the version filter or of the first range, further ranges and
+ * the name filter then only check the columns of the remaining rows. A name filter on its own is looked up in the
+ * {@link FrameworkNameIndex} when it can answer. Found rows are ordered like
+ * {@link com.etnetera.hr.repository.JavaScriptFrameworkSpecification#toOrders} and projected to the requested fields.
+ * Replaced and removed frameworks are only marked deleted and the columns are rebuilt once they make up half of them.
+ * <p>
+ * The index is loaded when the application starts and then kept up to date by
+ * {@link com.etnetera.hr.service.JavaScriptFrameworkService}, so it does not see writes of other instances.
+ *
+ * @author Etnetera
+ */
+@Component
+@RequiredArgsConstructor
+public class ColumnarFrameworkIndex {
+
+    private static final int MINIMUM_COMPACTED_SIZE = 1024;
+
+    private final JavaScriptFrameworkRepository repository;
+
+    private final PlatformTransactionManager transactionManager;
+
+    private final ColumnarFrameworkIndexProperties properties;
+
+    private final FrameworkNameIndex nameIndex;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Integer> rows = new HashMap<>();
+
+    private final RoaringBitmap live = new RoaringBitmap();
+
+    private final Map<String, Name> nameDictionary = new HashMap<>();
+
+    private final Map<String, Version> versionDictionary = new HashMap<>();
+
+    private final NavigableMap<Integer, RoaringBitmap> hypeLevelDictionary = new TreeMap<>();
+
+    private final NavigableMap<Integer, RoaringBitmap> deprecationDayDictionary = new TreeMap<>();
+
+    /**
+     * Frameworks removed while the index was loading, the load must not add them back
+     */
+    private final Set<Long> removedWhileLoading = new HashSet<>();
+
+    private JSFrameworkDto[] frameworks = new JSFrameworkDto[MINIMUM_COMPACTED_SIZE];
+
+    private long[] ids = new long[MINIMUM_COMPACTED_SIZE];
+
+    private String[] names = new String[MINIMUM_COMPACTED_SIZE];
+
+    private int[] hypeLevels = new int[MINIMUM_COMPACTED_SIZE];
+
+    private int[] deprecationDays = new int[MINIMUM_COMPACTED_SIZE];
+
+    private int size;
+
+    private volatile boolean ready;
+
+    /**
+     * Load all frameworks from db
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        transaction.execute(status -> {
+            try (Stream<JSFrameworkDto> frameworks = repository.streamAllDtos()) {
+                frameworks.forEach(framework -> write(() -> {
+                    if (!rows.containsKey(framework.getId()) && !removedWhileLoading.contains(framework.getId())) {
+                        add(framework);
+                    }
+                }));
+            }
+            return null;
+        });
+        write(() -> {
+            removedWhileLoading.clear();
+            ready = true;
+        });
+    }
+
+    /**
+     * Index created or edited framework
+     *
+     * @param framework current framework with all fields
+     */
+    public void put(final JSFrameworkDto framework) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        write(() -> {
+            delete(framework.getId());
+            add(framework);
+        });
+    }
+
+    /**
+     * Remove deleted framework from index
+     *
+     * @param id of framework
+     */
+    public void remove(final Long id) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        write(() -> {
+            delete(id);
+            if (!ready) {
+                removedWhileLoading.add(id);
+            }
+        });
+    }
+
+    /**
+     * Find frameworks matching the filter, in the same order and with the same fields as the database.
+     * Names with LIKE wildcards are left to the database.
+     *
+     * @param filter search filter
+     * @return found frameworks, empty if the index can not answer
+     */
+    public Optional<List<JSFrameworkDto>> search(final SearchJSFrameworkDto filter) {
+        String name = filter.getName();
+        if (!ready || (!StringUtils.isEmpty(name)
+                && (name.indexOf('%') >= 0 || name.indexOf('_') >= 0 || name.indexOf('\\') >= 0))) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            RoaringBitmap found = match(filter);
+            Integer[] ordered = new Integer[found.getCardinality()];
+            int i = 0;
+            for (int row : found) {
+                ordered[i++] = row;
+            }
+            Arrays.sort(ordered, order(filter, found));
+            List<JSFrameworkDto> frameworks = new ArrayList<>(ordered.length);
+            for (int row : ordered) {
+                frameworks.add(filter.getFieldsOrAll().select(this.frameworks[row]));
+            }
+            return Optional.of(frameworks);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * @return number of indexed frameworks
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return rows.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rows matching all filters, the name filter last, it is the most expensive one to evaluate on its own
+     */
+    private RoaringBitmap match(final SearchJSFrameworkDto filter) {
+        RoaringBitmap found = null;
+        if (!CollectionUtils.isEmpty(filter.getVersion()) || filter.getVersionRange() != null) {
+            found = matchVersion(filter);
+        }
+        LocalDate after = filter.getDeprecationDateAfter();
+        LocalDate before = filter.getDeprecationDateBefore();
+        if (after != null || before != null) {
+            found = range(found, deprecationDayDictionary, deprecationDays,
+                    after == null ? Long.MIN_VALUE : after.toEpochDay() + 1,
+                    before == null ? Long.MAX_VALUE : before.toEpochDay() - 1);
+        }
+        if (filter.getMinHypeLevel() != null || filter.getMaxHypeLevel() != null) {
+            found = range(found, hypeLevelDictionary, hypeLevels,
+                    filter.getMinHypeLevel() == null ? Long.MIN_VALUE : filter.getMinHypeLevel(),
+                    filter.getMaxHypeLevel() == null ? Long.MAX_VALUE : filter.getMaxHypeLevel());
+        }
+        if (!StringUtils.isEmpty(filter.getName())) {
+            found = matchName(found, filter.getName(), filter.isNameIgnoreCase());
+        }
+        return found == null ? live.clone() : found;
+    }
+
+    /**
+     * Rows whose name contains the searched name: the candidates checked against the name column,
+     * or the matches of the name index or of all distinct names if there are no candidates yet
+     */
+    private RoaringBitmap matchName(final RoaringBitmap candidates, final String name, final boolean ignoreCase) {
+        String lowerName = name.toLowerCase(Locale.ROOT);
+        if (candidates != null) {
+            RoaringBitmap found = new RoaringBitmap();
+            candidates.forEach((IntConsumer) row -> {
+                if (ignoreCase ? names[row].toLowerCase(Locale.ROOT).contains(lowerName) : names[row].contains(name)) {
+                    found.add(row);
+                }
+            });
+            return found;
+        }
+        Optional<List<Long>> indexed = nameIndex.find(name, ignoreCase);
+        if (indexed.isPresent()) {
+            return rowsOf(indexed.get());
+        }
+        List<RoaringBitmap> matching = new ArrayList<>();
+        for (Name candidate : nameDictionary.values()) {
+            if (ignoreCase ? candidate.lowerValue.contains(lowerName) : candidate.value.contains(name)) {
+                matching.add(candidate.rows);
+            }
+        }
+        return FastAggregation.or(matching.iterator());
+    }
+
+    private RoaringBitmap rowsOf(final Collection<Long> frameworkIds) {
+        RoaringBitmap found = new RoaringBitmap();
+        for (Long id : frameworkIds) {
+            Integer row = rows.get(id);
+            if (row != null) {
+                found.add(row);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Rows having a version, the latest one if requested, that satisfies all version filters
+     */
+    private RoaringBitmap matchVersion(final SearchJSFrameworkDto filter) {
+        Collection<Version> candidates = CollectionUtils.isEmpty(filter.getVersion())
+                ? versionDictionary.values()
+                : filter.getVersion().stream().distinct().map(versionDictionary::get).filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        List<RoaringBitmap> matching = new ArrayList<>();
+        for (Version candidate : candidates) {
+            if (filter.getVersionRange() == null || filter.getVersionRange().matches(candidate.value)) {
+                matching.add(filter.isLatestVersion() ? candidate.latestRows : candidate.rows);
+            }
+        }
+        return FastAggregation.or(matching.iterator());
+    }
+
+    /**
+     * Rows whose value lies between the inclusive bounds: the candidates checked against the column,
+     * or the bitmaps of the values in range if there are no candidates yet
+     */
+    private static RoaringBitmap range(final RoaringBitmap candidates,
+                                       final NavigableMap<Integer, RoaringBitmap> dictionary,
+                                       final int[] column,
+                                       final long from,
+                                       final long to) {
+        int low = (int) Math.max(from, Integer.MIN_VALUE);
+        int high = (int) Math.min(to, Integer.MAX_VALUE);
+        if (low > high) {
+            return new RoaringBitmap();
+        }
+        if (candidates != null) {
+            RoaringBitmap found = new RoaringBitmap();
+            candidates.forEach((IntConsumer) row -> {
+                if (column[row] >= low && column[row] <= high) {
+                    found.add(row);
+                }
+            });
+            return found;
+        }
+        return FastAggregation.or(dictionary.subMap(low, true, high, true).values().iterator());
+    }
+
+    /**
+     * Order of found rows, see {@link com.etnetera.hr.repository.JavaScriptFrameworkSpecification#toOrders}
+     */
+    private Comparator<Integer> order(final SearchJSFrameworkDto filter, final RoaringBitmap found) {
+        List<Comparator<Integer>> orders = new ArrayList<>();
+        if (filter.isNamePrefixFirst() && !StringUtils.isEmpty(filter.getName())) {
+            RoaringBitmap prefixed = prefixed(found, filter.getName(), filter.isNameIgnoreCase());
+            orders.add(Comparator.comparingInt(row -> prefixed.contains(row) ? 0 : 1));
+        }
+        FrameworkSort sort = filter.getSort();
+        if (sort == null) {
+            orders.add(Comparator.comparing(row -> names[row]));
+        } else {
+            sort.getOrders().forEach(order -> orders.add(order.isDescending()
+                    ? order(order.getKey()).reversed()
+                    : order(order.getKey())));
+        }
+        if (sort == null || !sort.contains(FrameworkSort.Key.ID)) {
+            orders.add(order(FrameworkSort.Key.ID));
+        }
+        return orders.stream().reduce(Comparator::thenComparing).orElseThrow();
+    }
+
+    private Comparator<Integer> order(final FrameworkSort.Key key) {
+        switch (key) {
+            case ID:
+                return Comparator.comparingLong(row -> ids[row]);
+            case NAME:
+                return Comparator.comparing(row -> names[row]);
+            case DEPRECATION_DATE:
+                return Comparator.comparingInt(row -> deprecationDays[row]);
+            default:
+                return Comparator.comparingInt(row -> hypeLevels[row]);
+        }
+    }
+
+    private RoaringBitmap prefixed(final RoaringBitmap found, final String name, final boolean ignoreCase) {
+        String lowerName = name.toLowerCase(Locale.ROOT);
+        RoaringBitmap prefixed = new RoaringBitmap();
+        for (int row : found) {
+            if (ignoreCase ? names[row].toLowerCase(Locale.ROOT).startsWith(lowerName) : names[row].startsWith(name)) {
+                prefixed.add(row);
+            }
+        }
+        return prefixed;
+    }
+
+    private void add(final JSFrameworkDto framework) {
+        if (size == ids.length) {
+            frameworks = Arrays.copyOf(frameworks, size * 2);
+            ids = Arrays.copyOf(ids, size * 2);
+            names = Arrays.copyOf(names, size * 2);
+            hypeLevels = Arrays.copyOf(hypeLevels, size * 2);
+            deprecationDays = Arrays.copyOf(deprecationDays, size * 2);
+        }
+        int row = size++;
+        frameworks[row] = framework;
+        ids[row] = framework.getId();
+        names[row] = framework.getName();
+        hypeLevels[row] = framework.getHypeLevel();
+        deprecationDays[row] = (int) framework.getDeprecationDate().toEpochDay();
+        rows.put(framework.getId(), row);
+        live.add(row);
+        nameDictionary.computeIfAbsent(framework.getName(), Name::new).rows.add(row);
+        hypeLevelDictionary.computeIfAbsent(hypeLevels[row], value -> new RoaringBitmap()).add(row);
+        deprecationDayDictionary.computeIfAbsent(deprecationDays[row], value -> new RoaringBitmap()).add(row);
+        List<String> versions = framework.getVersion();
+        OptionalInt latest = SemanticVersion.latest(versions);
+        for (int i = 0; i < versions.size(); i++) {
+            Version version = versionDictionary.computeIfAbsent(versions.get(i), Version::new);
+            version.rows.add(row);
+            if (latest.isPresent() && latest.getAsInt() == i) {
+                version.latestRows.add(row);
+            }
+        }
+    }
+
+    private void delete(final long id) {
+        Integer row = rows.remove(id);
+        if (row == null) {
+            return;
+        }
+        live.remove(row);
+        JSFrameworkDto framework = frameworks[row];
+        Name name = nameDictionary.get(framework.getName());
+        name.rows.remove(row);
+        if (name.rows.isEmpty()) {
+            nameDictionary.remove(name.value);
+        }
+        for (String value : framework.getVersion()) {
+            Version version = versionDictionary.get(value);
+            if (version != null) {
+                version.rows.remove(row);
+                version.latestRows.remove(row);
+                if (version.rows.isEmpty()) {
+                    versionDictionary.remove(value);
+                }
+            }
+        }
+        remove(hypeLevelDictionary, hypeLevels[row], row);
+        remove(deprecationDayDictionary, deprecationDays[row], row);
+        frameworks[row] = null;
+        names[row] = null;
+        if (size >= MINIMUM_COMPACTED_SIZE && rows.size() * 2 <= size) {
+            compact();
+        }
+    }
+
+    private static void remove(final Map<Integer, RoaringBitmap> dictionary, final int value, final int row) {
+        RoaringBitmap valueRows = dictionary.get(value);
+        valueRows.remove(row);
+        if (valueRows.isEmpty()) {
+            dictionary.remove(value);
+        }
+    }
+
+    /**
+     * Rebuild the index from live rows only
+     */
+    private void compact() {
+        List<JSFrameworkDto> liveFrameworks = new ArrayList<>(rows.size());
+        for (int row : live) {
+            liveFrameworks.add(frameworks[row]);
+        }
+        rows.clear();
+        live.clear();
+        nameDictionary.clear();
+        versionDictionary.clear();
+        hypeLevelDictionary.clear();
+        deprecationDayDictionary.clear();
+        Arrays.fill(frameworks, 0, size, null);
+        Arrays.fill(names, 0, size, null);
+        size = 0;
+        liveFrameworks.forEach(this::add);
+    }
+
+    private void write(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Distinct name with its rows
+     */
+    private static final class Name {
+
+        private final String value;
+
+        private final String lowerValue;
+
+        private final RoaringBitmap rows = new RoaringBitmap();
+
+        private Name(final String value) {
+            this.value = value;
+            this.lowerValue = value.toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * Distinct version with the rows having it and the rows having it as their latest version
+     */
+    private static final class Version {
+
+        private final String value;
+
+        private final RoaringBitmap rows = new RoaringBitmap();
+
+        private final RoaringBitmap latestRows = new RoaringBitmap();
+
+        private Version(final String value) {
+            this.value = value;
+        }
+    }
+}
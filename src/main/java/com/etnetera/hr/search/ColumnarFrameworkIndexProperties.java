@@ -0,0 +1,21 @@
+package com.etnetera.hr.search;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration of {@link ColumnarFrameworkIndex}.
+ *
+ * @author Etnetera
+ */
+@Data
+@Component
+@ConfigurationProperties("frameworks.columnar-index")
+public class ColumnarFrameworkIndexProperties {
+
+    /**
+     * Turns the index on, searches are then answered from memory holding a copy of all frameworks
+     */
+    private boolean enabled = false;
+}
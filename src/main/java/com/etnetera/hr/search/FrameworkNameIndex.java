@@ -0,0 +1,301 @@
+package com.etnetera.hr.search;
+
+import com.etnetera.hr.repository.FrameworkName;
+import com.etnetera.hr.repository.JavaScriptFrameworkRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory trigram index answering substring searches of framework names.
+ * <p>
+ * Every name gets a dense document number and every lower-cased trigram of the name a sorted posting list of
+ * document numbers. A search intersects the posting lists of the trigrams of the searched name, starting from the
+ * shortest one, and verifies the remaining candidates against the names. Names shorter than a trigram are
+ * verified against all names. Replaced and removed names are only marked deleted and the index is rebuilt once
+ * they make up half of it.
+ * <p>
+ * The index is loaded when the application starts and then kept up to date by
+ * {@link com.etnetera.hr.service.JavaScriptFrameworkService}, so it does not see writes of other instances.
+ *
+ * @author Etnetera
+ */
+@Component
+@RequiredArgsConstructor
+public class FrameworkNameIndex {
+
+    private static final int GRAM_LENGTH = 3;
+
+    private static final int MINIMUM_COMPACTED_SIZE = 1024;
+
+    private final JavaScriptFrameworkRepository repository;
+
+    private final PlatformTransactionManager transactionManager;
+
+    private final FrameworkNameIndexProperties properties;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Integer> documents = new HashMap<>();
+
+    private final Map<String, Postings> postings = new HashMap<>();
+
+    private final BitSet deleted = new BitSet();
+
+    /**
+     * Frameworks removed while the index was loading, the load must not add them back
+     */
+    private final Set<Long> removedWhileLoading = new HashSet<>();
+
+    private long[] ids = new long[MINIMUM_COMPACTED_SIZE];
+
+    private String[] names = new String[MINIMUM_COMPACTED_SIZE];
+
+    private int size;
+
+    private int deletedCount;
+
+    private volatile boolean ready;
+
+    /**
+     * Load names of all frameworks from db
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        transaction.execute(status -> {
+            try (Stream<FrameworkName> frameworks = repository.streamAllNames()) {
+                frameworks.forEach(framework -> write(() -> {
+                    if (!documents.containsKey(framework.getId()) && !removedWhileLoading.contains(framework.getId())) {
+                        add(framework.getId(), framework.getName());
+                    }
+                }));
+            }
+            return null;
+        });
+        write(() -> {
+            removedWhileLoading.clear();
+            ready = true;
+        });
+    }
+
+    /**
+     * Index created or renamed framework
+     *
+     * @param id   of framework
+     * @param name current name of framework
+     */
+    public void put(final Long id, final String name) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        write(() -> {
+            delete(id);
+            add(id, name);
+        });
+    }
+
+    /**
+     * Remove deleted framework from index
+     *
+     * @param id of framework
+     */
+    public void remove(final Long id) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        write(() -> {
+            delete(id);
+            if (!ready) {
+                removedWhileLoading.add(id);
+            }
+        });
+    }
+
+    /**
+     * Find frameworks whose name contains the searched name.
+     * Names with LIKE wildcards are left to the database, so results do not depend on the index being enabled.
+     *
+     * @param name       searched name
+     * @param ignoreCase whether to match regardless of case
+     * @return ids of matching frameworks, empty if the index can not answer
+     */
+    public Optional<List<Long>> find(final String name, final boolean ignoreCase) {
+        if (!ready || name.indexOf('%') >= 0 || name.indexOf('_') >= 0 || name.indexOf('\\') >= 0) {
+            return Optional.empty();
+        }
+        String lowerName = name.toLowerCase(Locale.ROOT);
+        lock.readLock().lock();
+        try {
+            List<Long> found = new ArrayList<>();
+            if (lowerName.length() < GRAM_LENGTH) {
+                for (int document = 0; document < size; document++) {
+                    if (!collect(document, name, lowerName, ignoreCase, found)) {
+                        return Optional.empty();
+                    }
+                }
+                return Optional.of(found);
+            }
+            List<Postings> lists = new ArrayList<>();
+            for (String gram : grams(lowerName)) {
+                Postings list = postings.get(gram);
+                if (list == null) {
+                    return Optional.of(List.of());
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(list -> list.size));
+            Postings shortest = lists.get(0);
+            for (int i = 0; i < shortest.size; i++) {
+                int document = shortest.documents[i];
+                if (containedInAll(document, lists) && !collect(document, name, lowerName, ignoreCase, found)) {
+                    return Optional.empty();
+                }
+            }
+            return Optional.of(found);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * @return number of indexed frameworks
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Add live matching document to found ids
+     *
+     * @return false once there are more matches than the index answers
+     */
+    private boolean collect(int document, String name, String lowerName, boolean ignoreCase, List<Long> found) {
+        if (deleted.get(document)) {
+            return true;
+        }
+        boolean matches = ignoreCase
+                ? names[document].toLowerCase(Locale.ROOT).contains(lowerName)
+                : names[document].contains(name);
+        if (matches) {
+            found.add(ids[document]);
+        }
+        return found.size() <= properties.getMaximumMatches();
+    }
+
+    private static boolean containedInAll(int document, List<Postings> lists) {
+        for (int i = 1; i < lists.size(); i++) {
+            Postings list = lists.get(i);
+            if (Arrays.binarySearch(list.documents, 0, list.size, document) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void add(long id, String name) {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+            names = Arrays.copyOf(names, size * 2);
+        }
+        int document = size++;
+        ids[document] = id;
+        names[document] = name;
+        documents.put(id, document);
+        for (String gram : grams(name.toLowerCase(Locale.ROOT))) {
+            postings.computeIfAbsent(gram, key -> new Postings()).add(document);
+        }
+    }
+
+    private void delete(long id) {
+        Integer document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        deleted.set(document);
+        names[document] = null;
+        deletedCount++;
+        if (size >= MINIMUM_COMPACTED_SIZE && deletedCount * 2 >= size) {
+            compact();
+        }
+    }
+
+    /**
+     * Rebuild the index from live documents only
+     */
+    private void compact() {
+        long[] liveIds = new long[size - deletedCount];
+        String[] liveNames = new String[size - deletedCount];
+        int live = 0;
+        for (int document = 0; document < size; document++) {
+            if (!deleted.get(document)) {
+                liveIds[live] = ids[document];
+                liveNames[live] = names[document];
+                live++;
+            }
+        }
+        documents.clear();
+        postings.clear();
+        deleted.clear();
+        size = 0;
+        deletedCount = 0;
+        for (int i = 0; i < live; i++) {
+            add(liveIds[i], liveNames[i]);
+        }
+    }
+
+    private static Set<String> grams(String lowerName) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= lowerName.length(); i++) {
+            grams.add(lowerName.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private void write(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Growable sorted list of document numbers
+     */
+    private static final class Postings {
+
+        private int[] documents = new int[4];
+
+        private int size;
+
+        private void add(int document) {
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+            }
+            documents[size++] = document;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.etnetera.hr.search;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration of {@link FrameworkNameIndex}.
+ *
+ * @author Etnetera
+ */
+@Data
+@Component
+@ConfigurationProperties("frameworks.name-index")
+public class FrameworkNameIndexProperties {
+
+    /**
+     * Turns the index off, names are then searched by the database
+     */
+    private boolean enabled = true;
+
+    /**
+     * Number of matching frameworks above which the name filter is left to the database
+     */
+    private int maximumMatches = 10_000;
+}
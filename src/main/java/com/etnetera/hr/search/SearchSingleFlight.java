@@ -0,0 +1,169 @@
+package com.etnetera.hr.search;
+
+import com.etnetera.hr.dto.JSFrameworkDto;
+import com.etnetera.hr.dto.SearchJSFrameworkDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+
+/**
+ * Shares one in-flight search among concurrent searches with the same normalized filter.
+ * <p>
+ * The first search of a filter runs the query and collects its result, searches arriving before it completes wait
+ * and get the same result. The result is collected before it is passed on, so a slow consumer of the first search
+ * does not hold back the others. A result over {@link SearchSingleFlightProperties#getMaximumSharedResultSize()}
+ * is streamed to the first search only, the waiting ones then run their own query.
+ * <p>
+ * Writes have to be reported through {@link #evict(JSFrameworkDto, JSFrameworkDto)}, so searches started after
+ * a write do not join a query that could have missed it.
+ * <p>
+ * Searches are counted in {@code frameworks.search.single-flight}, tagged by whether they ran a query or got
+ * a shared result, the share of the latter is the {@code frameworks.search.single-flight.collapse-ratio}.
+ *
+ * @author Etnetera
+ */
+@Component
+public class SearchSingleFlight {
+
+    private final SearchSingleFlightProperties properties;
+
+    private final ConcurrentMap<SearchJSFrameworkDto, CompletableFuture<List<JSFrameworkDto>>> flights = new ConcurrentHashMap<>();
+
+    private final Counter executed;
+
+    private final Counter shared;
+
+    public SearchSingleFlight(final SearchSingleFlightProperties properties, final MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.executed = Counter.builder("frameworks.search.single-flight")
+                .description("Searches by whether they ran a query or got the result of a concurrent one")
+                .tag("result", "executed")
+                .register(meterRegistry);
+        this.shared = Counter.builder("frameworks.search.single-flight")
+                .description("Searches by whether they ran a query or got the result of a concurrent one")
+                .tag("result", "shared")
+                .register(meterRegistry);
+        Gauge.builder("frameworks.search.single-flight.collapse-ratio", this, SearchSingleFlight::collapseRatio)
+                .description("Share of searches answered by the query of a concurrent search")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Pass search result to the consumer, from a concurrent search of the same filter or as the loader finds it
+     *
+     * @param filter   search filter, normalized before use as a key
+     * @param consumer receiver of the found frameworks
+     * @param loader   db search passing the found frameworks to the given consumer
+     */
+    public void search(final SearchJSFrameworkDto filter,
+                       final Consumer<JSFrameworkDto> consumer,
+                       final Consumer<Consumer<JSFrameworkDto>> loader) {
+        if (!properties.isEnabled()) {
+            loader.accept(consumer);
+            return;
+        }
+        SearchJSFrameworkDto key = filter.normalized();
+        CompletableFuture<List<JSFrameworkDto>> flight = new CompletableFuture<>();
+        CompletableFuture<List<JSFrameworkDto>> running = flights.putIfAbsent(key, flight);
+        if (running != null) {
+            List<JSFrameworkDto> result = await(running);
+            if (result != null) {
+                shared.increment();
+                result.forEach(consumer);
+            } else {
+                executed.increment();
+                loader.accept(consumer);
+            }
+            return;
+        }
+        executed.increment();
+        lead(key, flight, consumer, loader);
+    }
+
+    /**
+     * Remove the in-flight searches a write could change, later searches of their filters run a new query
+     *
+     * @param before framework state before the write, null for create
+     * @param after  framework state after the write, null for delete
+     */
+    public void evict(final JSFrameworkDto before, final JSFrameworkDto after) {
+        flights.keySet().removeIf(filter ->
+                (before != null && filter.matches(before)) || (after != null && filter.matches(after))
+        );
+    }
+
+    /**
+     * Number of searches waiting for the in-flight query of the filter, an estimate for monitoring and tests
+     */
+    int waiting(final SearchJSFrameworkDto filter) {
+        CompletableFuture<List<JSFrameworkDto>> flight = flights.get(filter.normalized());
+        return flight == null ? 0 : flight.getNumberOfDependents();
+    }
+
+    /**
+     * Run the query, collecting the result for the waiting searches until it is too large to be shared
+     */
+    private void lead(final SearchJSFrameworkDto key,
+                      final CompletableFuture<List<JSFrameworkDto>> flight,
+                      final Consumer<JSFrameworkDto> consumer,
+                      final Consumer<Consumer<JSFrameworkDto>> loader) {
+        List<JSFrameworkDto> collected = new ArrayList<>();
+        boolean[] streaming = {false};
+        try {
+            loader.accept(framework -> {
+                if (streaming[0]) {
+                    consumer.accept(framework);
+                    return;
+                }
+                collected.add(framework);
+                if (collected.size() > properties.getMaximumSharedResultSize()) {
+                    streaming[0] = true;
+                    land(key, flight, null);
+                    collected.forEach(consumer);
+                    collected.clear();
+                }
+            });
+        } catch (RuntimeException | Error e) {
+            flights.remove(key, flight);
+            flight.completeExceptionally(e);
+            throw e;
+        }
+        if (!streaming[0]) {
+            List<JSFrameworkDto> result = List.copyOf(collected);
+            land(key, flight, result);
+            result.forEach(consumer);
+        }
+    }
+
+    private void land(final SearchJSFrameworkDto key,
+                      final CompletableFuture<List<JSFrameworkDto>> flight,
+                      final List<JSFrameworkDto> result) {
+        flights.remove(key, flight);
+        flight.complete(result);
+    }
+
+    /**
+     * @return result of the concurrent search, null if it was too large to be shared
+     */
+    private static List<JSFrameworkDto> await(final CompletableFuture<List<JSFrameworkDto>> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    private double collapseRatio() {
+        double total = executed.count() + shared.count();
+        return total == 0 ? 0 : shared.count() / total;
+    }
+}
@@ -0,0 +1,27 @@
+package com.etnetera.hr.search;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration of {@link SearchSingleFlight}.
+ *
+ * @author Etnetera
+ */
+@Data
+@Component
+@ConfigurationProperties("frameworks.single-flight")
+public class SearchSingleFlightProperties {
+
+    /**
+     * Turns sharing off, every search then runs its own query
+     */
+    private boolean enabled = true;
+
+    /**
+     * Number of found frameworks above which a search result is not shared, searches waiting for it run their own
+     * query. Bounds the memory of a shared result.
+     */
+    private int maximumSharedResultSize = 10_000;
+}
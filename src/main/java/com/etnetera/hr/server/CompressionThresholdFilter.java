@@ -0,0 +1,120 @@
+package com.etnetera.hr.server;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+
+/**
+ * Makes {@code server.compression.min-response-size} apply to responses written by message converters.
+ * <p>
+ * Tomcat compresses every response whose length is unknown when it is committed, and the converters flush after
+ * writing, which commits the response before its length is known. Flushes are therefore held back until the response
+ * reaches the threshold, so a smaller response completes uncommitted and Tomcat sends it with its length, uncompressed.
+ * Event streams are flushed right away.
+ *
+ * @author Etnetera
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty("server.compression.enabled")
+public class CompressionThresholdFilter extends OncePerRequestFilter {
+
+    private final long threshold;
+
+    public CompressionThresholdFilter(final ServerProperties serverProperties) {
+        this.threshold = serverProperties.getCompression().getMinResponseSize().toBytes();
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request,
+                                    final HttpServletResponse response,
+                                    final FilterChain chain) throws ServletException, IOException {
+        chain.doFilter(request, new ThresholdResponse(response));
+    }
+
+    private class ThresholdResponse extends HttpServletResponseWrapper {
+
+        private long written;
+
+        private ServletOutputStream outputStream;
+
+        ThresholdResponse(final HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new ThresholdOutputStream(super.getOutputStream());
+            }
+            return outputStream;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (isFlushable()) {
+                super.flushBuffer();
+            }
+        }
+
+        private boolean isFlushable() {
+            return written >= threshold
+                    || (getContentType() != null && MediaType.TEXT_EVENT_STREAM.isCompatibleWith(MediaType.parseMediaType(getContentType())));
+        }
+
+        private class ThresholdOutputStream extends ServletOutputStream {
+
+            private final ServletOutputStream delegate;
+
+            ThresholdOutputStream(final ServletOutputStream delegate) {
+                this.delegate = delegate;
+            }
+
+            @Override
+            public void write(final int b) throws IOException {
+                delegate.write(b);
+                written++;
+            }
+
+            @Override
+            public void write(final byte[] b, final int off, final int len) throws IOException {
+                delegate.write(b, off, len);
+                written += len;
+            }
+
+            @Override
+            public void flush() throws IOException {
+                if (isFlushable()) {
+                    delegate.flush();
+                }
+            }
+
+            @Override
+            public void close() throws IOException {
+                delegate.close();
+            }
+
+            @Override
+            public boolean isReady() {
+                return delegate.isReady();
+            }
+
+            @Override
+            public void setWriteListener(final WriteListener writeListener) {
+                delegate.setWriteListener(writeListener);
+            }
+        }
+    }
+}
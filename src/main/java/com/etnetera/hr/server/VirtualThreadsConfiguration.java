@@ -0,0 +1,51 @@
+package com.etnetera.hr.server;
+
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Request execution on virtual threads, selected by the {@code virtual-threads} profile.
+ * <p>
+ * Tomcat runs every request on a new virtual thread instead of its fixed worker pool, so requests blocked in JDBC
+ * park cheaply and a burst is limited by the connection pool rather than by the number of workers.
+ * The application is built for Java 11, the executor is therefore looked up at runtime and the profile
+ * fails the startup on runtimes older than Java 21.
+ *
+ * @author Etnetera
+ */
+@Configuration
+@Profile("virtual-threads")
+public class VirtualThreadsConfiguration {
+
+    @Bean
+    public ExecutorService virtualThreadExecutor() {
+        return newVirtualThreadPerTaskExecutor();
+    }
+
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> virtualThreadRequestExecution(final ExecutorService virtualThreadExecutor) {
+        return factory -> factory.addConnectorCustomizers(connector -> connector.getProtocolHandler().setExecutor(virtualThreadExecutor));
+    }
+
+    /**
+     * Executor starting a new virtual thread for every task
+     *
+     * @return executor
+     * @throws IllegalStateException if the runtime does not support virtual threads
+     */
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("Virtual threads need Java 21 or newer, running on " + Runtime.version(), e);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual thread executor can not be created", e);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.etnetera.hr.service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration of bulk writes in {@link JavaScriptFrameworkService}.
+ *
+ * @author Etnetera
+ */
+@Data
+@Component
+@ConfigurationProperties("frameworks.bulk")
+public class FrameworkBulkProperties {
+
+    /**
+     * Number of items written in one transaction, the persistence context is cleared after each chunk
+     */
+    private int chunkSize = 500;
+
+    /**
+     * Maximum number of items of one bulk request, also of ids of one lookup
+     */
+    private int maximumItems = 10_000;
+}
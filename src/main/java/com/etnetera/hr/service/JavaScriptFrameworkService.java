@@ -1,44 +1,183 @@
 package com.etnetera.hr.service;
 
+import com.etnetera.hr.cache.JavaScriptFrameworkCache;
+import com.etnetera.hr.changes.FrameworkChangeLog;
 import com.etnetera.hr.data.JavaScriptFramework;
+import com.etnetera.hr.dto.BulkItemResultDto;
+import com.etnetera.hr.dto.EditJSFrameworkDto;
+import com.etnetera.hr.dto.FrameworkFields;
+import com.etnetera.hr.dto.FrameworkLookupDto;
+import com.etnetera.hr.dto.FrameworkPageDto;
+import com.etnetera.hr.dto.FrameworkStatsDto;
 import com.etnetera.hr.dto.JSFrameworkDto;
 import com.etnetera.hr.dto.SearchJSFrameworkDto;
+import com.etnetera.hr.lookup.FrameworkLookupCoalescer;
+import com.etnetera.hr.repository.FrameworkContentHash;
+import com.etnetera.hr.repository.FrameworkRevision;
 import com.etnetera.hr.repository.JavaScriptFrameworkRepository;
 import com.etnetera.hr.repository.JavaScriptFrameworkSpecification;
+import com.etnetera.hr.search.ColumnarFrameworkIndex;
+import com.etnetera.hr.search.FrameworkNameIndex;
+import com.etnetera.hr.search.SearchSingleFlight;
+import com.etnetera.hr.stats.MaterializedFrameworkStats;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Sort;
+import lombok.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
 
-import java.util.List;
-import java.util.Optional;
+import javax.persistence.EntityManager;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static com.etnetera.hr.dto.BulkItemResultDto.Status.*;
+
 @Service
 @RequiredArgsConstructor
 public class JavaScriptFrameworkService {
 
+    private static final SearchJSFrameworkDto NO_FILTER = SearchJSFrameworkDto.builder().build();
+
     private final JavaScriptFrameworkRepository repository;
 
+    private final EntityManager entityManager;
+
+    private final JavaScriptFrameworkCache cache;
+
+    private final FrameworkNameIndex nameIndex;
+
+    private final ColumnarFrameworkIndex columnarIndex;
+
+    private final SearchSingleFlight singleFlight;
+
+    private final PlatformTransactionManager transactionManager;
+
+    private final Validator validator;
+
+    private final FrameworkBulkProperties bulkProperties;
+
+    private final MaterializedFrameworkStats stats;
+
+    private final MeterRegistry meterRegistry;
+
+    private final FrameworkChangeLog changeLog;
+
+    private final FrameworkLookupCoalescer lookupCoalescer;
+
     /**
      * Return all frameworks from db
      *
      * @return all frameworks
      */
+    @Transactional(readOnly = true)
     public List<JSFrameworkDto> getAllFrameworks() {
-        return repository.findAll().stream()
-                .map(JSFrameworkDto::fromEntity)
-                .collect(Collectors.toUnmodifiableList());
+        try (Stream<JSFrameworkDto> frameworks = repository.streamAllDtos()) {
+            return frameworks.collect(Collectors.toUnmodifiableList());
+        }
+    }
+
+    /**
+     * Return one keyset page of frameworks ordered by id
+     *
+     * @param page cursor and size of the page
+     * @return frameworks following the cursor
+     */
+    @Transactional(readOnly = true)
+    public List<JSFrameworkDto> getFrameworks(final FrameworkPageDto page) {
+        return getFrameworks(page, FrameworkFields.ALL);
     }
 
     /**
-     * Get single framework by id
+     * Return selected fields of one keyset page of frameworks ordered by id
+     *
+     * @param page   cursor and size of the page
+     * @param fields fields to return, versions are not read unless requested
+     * @return frameworks following the cursor
+     */
+    @Transactional(readOnly = true)
+    public List<JSFrameworkDto> getFrameworks(final FrameworkPageDto page, final FrameworkFields fields) {
+        return repository.findDtoPage(page.getAfterOrFirst(), page.getLimitOrDefault(), fields);
+    }
+
+    /**
+     * Pass all frameworks ordered by id to the consumer as they are read from db.
+     * Frameworks are projected without entering the persistence context, so memory does not grow with the table.
+     *
+     * @param consumer receiver of the frameworks
+     */
+    @Transactional(readOnly = true)
+    public void streamAllFrameworks(final Consumer<JSFrameworkDto> consumer) {
+        try (Stream<JSFrameworkDto> frameworks = repository.streamAllDtos()) {
+            frameworks.forEach(consumer);
+        }
+    }
+
+    /**
+     * Get single framework by id.
+     * On a cache miss the framework is looked up together with concurrent lookups if coalescing is enabled.
      *
      * @param id of framework
      * @return found framework
      */
     public Optional<JSFrameworkDto> getFrameworkById(final Long id) {
-        return repository.findById(id).map(JSFrameworkDto::fromEntity);
+        return cache.getById(id, () -> lookupCoalescer.isEnabled()
+                ? lookupCoalescer.getById(id)
+                : readOnlyTransaction().execute(status -> repository.findDtoById(id)));
+    }
+
+    /**
+     * Get frameworks by ids, the ones not cached in a single query
+     *
+     * @param ids of frameworks, may repeat
+     * @return found frameworks and missing ids, both in the order of the ids without repetition
+     */
+    public FrameworkLookupDto getFrameworksByIds(final List<Long> ids) {
+        Map<Long, JSFrameworkDto> found = cache.getAllById(ids, missed -> readOnlyTransaction()
+                .execute(status -> repository.findDtosByIds(missed))
+                .stream()
+                .collect(Collectors.toMap(JSFrameworkDto::getId, Function.identity())));
+        List<Long> distinct = ids.stream().distinct().collect(Collectors.toList());
+        return FrameworkLookupDto.builder()
+                .frameworks(distinct.stream().map(found::get).filter(Objects::nonNull).collect(Collectors.toUnmodifiableList()))
+                .missing(distinct.stream().filter(id -> !found.containsKey(id)).collect(Collectors.toUnmodifiableList()))
+                .build();
+    }
+
+    /**
+     * Get revision of single framework, from cache if present, otherwise without loading the framework
+     *
+     * @param id of framework
+     * @return revision of found framework
+     */
+    public Optional<FrameworkRevision> getFrameworkRevision(final Long id) {
+        Optional<FrameworkRevision> cached = cache.getIfPresent(id)
+                .map(framework -> new CachedRevision(framework.getId(), framework.getRevision(), framework.getLastModified()));
+        return cached.isPresent() ? cached : repository.findRevisionById(id);
+    }
+
+    /**
+     * Get revisions of one keyset page of frameworks ordered by id
+     *
+     * @param page cursor and size of the page
+     * @return revisions of frameworks following the cursor
+     */
+    public List<FrameworkRevision> getFrameworkRevisions(final FrameworkPageDto page) {
+        return repository.findRevisionsByIdGreaterThanOrderByIdAsc(page.getAfterOrFirst(), PageRequest.of(0, page.getLimitOrDefault()));
     }
 
     /**
@@ -48,8 +187,12 @@ public class JavaScriptFrameworkService {
      * @return saved framework
      */
     public JSFrameworkDto createFramework(final JSFrameworkDto framework) {
-        JavaScriptFramework savedEntity = repository.save(framework.toEntity());
-        return JSFrameworkDto.fromEntity(savedEntity);
+        return announceWrite(() -> {
+            JavaScriptFramework savedEntity = repository.save(framework.toEntity());
+            JSFrameworkDto created = JSFrameworkDto.fromEntity(savedEntity);
+            afterWrite(null, created);
+            return created;
+        });
     }
 
     /**
@@ -59,9 +202,28 @@ public class JavaScriptFrameworkService {
      * @return deleted framework
      */
     public Optional<JSFrameworkDto> deleteFramework(final Long id) {
-        Optional<JavaScriptFramework> framework = repository.findById(id);
-        framework.ifPresent(repository::delete);
-        return framework.map(JSFrameworkDto::fromEntity);
+        return deleteFramework(id, null);
+    }
+
+    /**
+     * Delete framework in db if it was not changed since the expected revision
+     *
+     * @param id               of framework to delete
+     * @param expectedRevision revision the deletion is based on, null to delete any revision
+     * @return deleted framework
+     * @throws org.springframework.orm.ObjectOptimisticLockingFailureException if the framework has another revision
+     */
+    public Optional<JSFrameworkDto> deleteFramework(final Long id, final Long expectedRevision) {
+        return announceWrite(() -> {
+            Optional<JavaScriptFramework> framework = repository.findById(id);
+            framework.ifPresent(entity -> {
+                checkRevision(entity, expectedRevision);
+                repository.delete(entity);
+            });
+            Optional<JSFrameworkDto> deleted = framework.map(JSFrameworkDto::fromEntity);
+            deleted.ifPresent(dto -> afterWrite(dto, null));
+            return deleted;
+        });
     }
 
     /**
@@ -72,20 +234,430 @@ public class JavaScriptFrameworkService {
      * @return edited framework if found
      */
     public Optional<JSFrameworkDto> editFramework(final Long id, final JSFrameworkDto framework) {
-        return repository.findById(id)
+        return editFramework(id, framework, null);
+    }
+
+    /**
+     * Edit framework in db if it was not changed since the expected revision
+     *
+     * @param id               of framework to edit
+     * @param framework        edit data
+     * @param expectedRevision revision the edit is based on, null to edit any revision
+     * @return edited framework if found
+     * @throws org.springframework.orm.ObjectOptimisticLockingFailureException if the framework has another revision
+     */
+    public Optional<JSFrameworkDto> editFramework(final Long id, final JSFrameworkDto framework, final Long expectedRevision) {
+        return announceWrite(() -> repository.findById(id)
                 .map(entity -> {
+                    JSFrameworkDto before = JSFrameworkDto.fromEntity(entity);
+                    checkRevision(entity, expectedRevision);
                     entity.setName(framework.getName());
                     entity.setDeprecationDate(framework.getDeprecationDate());
                     entity.setHypeLevel(framework.getHypeLevel());
                     entity.setVersion(framework.getVersion());
-                    return entity;
-                })
-                .map(repository::save)
-                .map(JSFrameworkDto::fromEntity);
+                    JSFrameworkDto after = JSFrameworkDto.fromEntity(repository.save(entity));
+                    afterWrite(before, after);
+                    return after;
+                }));
+    }
+
+    /**
+     * Create frameworks in db, in chunks of {@link FrameworkBulkProperties#getChunkSize()} per transaction
+     *
+     * @param frameworks frameworks to save
+     * @return result of every framework, in the order of the request
+     */
+    public List<BulkItemResultDto> createFrameworks(final List<JSFrameworkDto> frameworks) {
+        return bulk(frameworks, (chunk, changes) -> {
+            Map<Integer, BulkItemResultDto> results = new HashMap<>();
+            chunk.forEach((index, framework) -> {
+                JavaScriptFramework entity = framework.toEntity();
+                entityManager.persist(entity);
+                changes.add(new PendingChange(null, entity));
+                results.put(index, result(index, entity.getId(), CREATED));
+            });
+            return results;
+        });
+    }
+
+    /**
+     * Edit frameworks in db, in chunks of {@link FrameworkBulkProperties#getChunkSize()} per transaction
+     *
+     * @param frameworks ids and edit data of frameworks
+     * @return result of every framework, in the order of the request
+     */
+    public List<BulkItemResultDto> editFrameworks(final List<EditJSFrameworkDto> frameworks) {
+        return bulk(frameworks, (chunk, changes) -> {
+            Map<Long, JavaScriptFramework> entities = findAllById(chunk.values(), EditJSFrameworkDto::getId);
+            Map<Integer, BulkItemResultDto> results = new HashMap<>();
+            chunk.forEach((index, edit) -> {
+                JavaScriptFramework entity = entities.get(edit.getId());
+                if (entity == null) {
+                    results.put(index, result(index, edit.getId(), NOT_FOUND));
+                    return;
+                }
+                JSFrameworkDto before = JSFrameworkDto.fromEntity(entity);
+                entity.setName(edit.getFramework().getName());
+                entity.setDeprecationDate(edit.getFramework().getDeprecationDate());
+                entity.setHypeLevel(edit.getFramework().getHypeLevel());
+                entity.setVersion(new ArrayList<>(edit.getFramework().getVersion()));
+                changes.add(new PendingChange(before, entity));
+                results.put(index, result(index, edit.getId(), UPDATED));
+            });
+            return results;
+        });
+    }
+
+    /**
+     * Delete frameworks in db, in chunks of {@link FrameworkBulkProperties#getChunkSize()} per transaction
+     *
+     * @param ids of frameworks to delete
+     * @return result of every framework, in the order of the request
+     */
+    public List<BulkItemResultDto> deleteFrameworks(final List<Long> ids) {
+        return bulk(ids, (chunk, changes) -> {
+            Map<Long, JavaScriptFramework> entities = findAllById(chunk.values(), Function.identity());
+            Map<Integer, BulkItemResultDto> results = new HashMap<>();
+            chunk.forEach((index, id) -> {
+                JavaScriptFramework entity = entities.remove(id);
+                if (entity == null) {
+                    results.put(index, result(index, id, NOT_FOUND));
+                    return;
+                }
+                changes.add(new PendingChange(JSFrameworkDto.fromEntity(entity), null));
+                entityManager.remove(entity);
+                results.put(index, result(index, id, DELETED));
+            });
+            return results;
+        });
+    }
+
+    /**
+     * Create or edit frameworks matched by name, in chunks of {@link FrameworkBulkProperties#getChunkSize()} per
+     * transaction. Frameworks whose content hash equals the stored one are left unchanged without being loaded.
+     * A framework is not written if more than one framework has its name.
+     *
+     * @param frameworks frameworks to save, later ones of the same name override earlier ones
+     * @return result of every framework, in the order of the request
+     */
+    public List<BulkItemResultDto> upsertFrameworks(final List<JSFrameworkDto> frameworks) {
+        return bulk(frameworks, (chunk, changes) -> {
+            Map<String, List<FrameworkContentHash>> stored = repository.findContentHashesByNameIn(
+                            chunk.values().stream().map(JSFrameworkDto::getName).collect(Collectors.toSet()))
+                    .stream()
+                    .collect(Collectors.groupingBy(FrameworkContentHash::getName));
+            Map<Integer, String> hashes = new HashMap<>();
+            Set<Long> changed = new HashSet<>();
+            chunk.forEach((index, framework) -> {
+                String hash = JavaScriptFramework.contentHash(
+                        framework.getName(), framework.getVersion(), framework.getDeprecationDate(), framework.getHypeLevel());
+                hashes.put(index, hash);
+                List<FrameworkContentHash> matches = stored.getOrDefault(framework.getName(), List.of());
+                if (matches.size() == 1 && !hash.equals(matches.get(0).getContentHash())) {
+                    changed.add(matches.get(0).getId());
+                }
+            });
+            Map<Long, JavaScriptFramework> entities = findAllById(changed, Function.identity());
+            // state of the names written by this chunk, so a repeated name is compared to the last write
+            Map<String, JavaScriptFramework> written = new HashMap<>();
+            Map<String, String> writtenHashes = new HashMap<>();
+            Map<Integer, BulkItemResultDto> results = new HashMap<>();
+            chunk.forEach((index, framework) -> {
+                List<FrameworkContentHash> matches = stored.getOrDefault(framework.getName(), List.of());
+                if (matches.size() > 1) {
+                    results.put(index, BulkItemResultDto.builder().index(index).status(FAILED).error("name is not unique").build());
+                    return;
+                }
+                JavaScriptFramework entity = written.get(framework.getName());
+                if (entity == null && matches.isEmpty()) {
+                    entity = framework.toEntity();
+                    entityManager.persist(entity);
+                    changes.add(new PendingChange(null, entity));
+                    written.put(framework.getName(), entity);
+                    writtenHashes.put(framework.getName(), hashes.get(index));
+                    results.put(index, result(index, entity.getId(), CREATED));
+                    return;
+                }
+                Long id = entity != null ? entity.getId() : matches.get(0).getId();
+                String current = entity != null ? writtenHashes.get(framework.getName()) : matches.get(0).getContentHash();
+                if (hashes.get(index).equals(current)) {
+                    results.put(index, result(index, id, UNCHANGED));
+                    return;
+                }
+                if (entity == null) {
+                    entity = entities.get(id);
+                    if (entity == null) {
+                        results.put(index, result(index, id, NOT_FOUND));
+                        return;
+                    }
+                    changes.add(new PendingChange(JSFrameworkDto.fromEntity(entity), entity));
+                    written.put(framework.getName(), entity);
+                }
+                entity.setDeprecationDate(framework.getDeprecationDate());
+                entity.setHypeLevel(framework.getHypeLevel());
+                entity.setVersion(new ArrayList<>(framework.getVersion()));
+                writtenHashes.put(framework.getName(), hashes.get(index));
+                results.put(index, result(index, id, UPDATED));
+            });
+            return results;
+        });
+    }
+
+    /**
+     * Pass frameworks matching the filter to the consumer, in the requested order and with the requested fields,
+     * as they are found.
+     * The whole search is answered by the columnar index when it is enabled and can answer. Otherwise names are
+     * looked up in the name index when it can answer, and the search runs in a read-only transaction holding
+     * the cursor, which is closed also when the consumer throws. Concurrent searches not answered by the cache
+     * share one query if their filters are the same.
+     * Sizes of completed searches are recorded in the {@code frameworks.search.results} distribution.
+     *
+     * @param filter   search filter
+     * @param consumer receiver of the found frameworks
+     */
+    public void searchFrameworks(final SearchJSFrameworkDto filter, final Consumer<JSFrameworkDto> consumer) {
+        long[] size = {0};
+        cache.search(filter, framework -> {
+            size[0]++;
+            consumer.accept(framework);
+        }, found -> singleFlight.search(filter, found, flight -> findFrameworks(filter, flight)));
+        DistributionSummary.builder("frameworks.search.results")
+                .description("Frameworks found by a search")
+                .register(meterRegistry)
+                .record(size[0]);
+    }
+
+    /**
+     * Get counts, hype level statistics and histograms of frameworks matching the filter.
+     * Stats of all frameworks are served from memory when materialized, otherwise they are aggregated by the database.
+     *
+     * @param filter search filter, ordering flags, sort and fields are ignored
+     * @return stats of found frameworks
+     */
+    public FrameworkStatsDto getStats(final SearchJSFrameworkDto filter) {
+        if (filter.toBuilder().sort(null).fields(null).build().normalized().equals(NO_FILTER)) {
+            Optional<FrameworkStatsDto> materialized = stats.get();
+            if (materialized.isPresent()) {
+                return materialized.get();
+            }
+        }
+        List<Long> nameMatchIds = findNameMatchIds(filter);
+        if (nameMatchIds != null && nameMatchIds.isEmpty()) {
+            return FrameworkStatsDto.of(new TreeMap<>(), new TreeMap<>(), new TreeMap<>());
+        }
+        JavaScriptFrameworkSpecification spec = new JavaScriptFrameworkSpecification(filter, nameMatchIds);
+        return readOnlyTransaction().execute(status -> FrameworkStatsDto.of(
+                repository.countByHypeLevel(spec),
+                repository.countByDeprecationYear(spec),
+                repository.countByVersion(spec)
+        ));
+    }
+
+    private void findFrameworks(final SearchJSFrameworkDto filter, final Consumer<JSFrameworkDto> consumer) {
+        Optional<List<JSFrameworkDto>> indexed = columnarIndex.search(filter);
+        if (indexed.isPresent()) {
+            indexed.get().forEach(consumer);
+            return;
+        }
+        List<Long> nameMatchIds = findNameMatchIds(filter);
+        if (nameMatchIds != null && nameMatchIds.isEmpty()) {
+            return;
+        }
+        readOnlyTransaction().execute(status -> {
+            try (Stream<JSFrameworkDto> found = repository.streamDtos(new JavaScriptFrameworkSpecification(filter, nameMatchIds))) {
+                found.forEach(consumer);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Reject a write based on another than the current revision.
+     * A write committed after this check is rejected by the revision condition of the update itself.
+     */
+    private static void checkRevision(final JavaScriptFramework entity, final Long expectedRevision) {
+        if (expectedRevision != null && !expectedRevision.equals(entity.getRevision())) {
+            throw new ObjectOptimisticLockingFailureException(JavaScriptFramework.class, entity.getId());
+        }
+    }
+
+    /**
+     * Ids of frameworks matching the name filter from the name index, null if there is no name filter
+     * or the index can not answer
+     */
+    private List<Long> findNameMatchIds(final SearchJSFrameworkDto filter) {
+        return StringUtils.isEmpty(filter.getName())
+                ? null
+                : nameIndex.find(filter.getName(), filter.isNameIgnoreCase()).orElse(null);
+    }
+
+    /**
+     * Read-only transaction, which also switches the Hibernate session to manual flush
+     */
+    private TransactionTemplate readOnlyTransaction() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        return transaction;
+    }
+
+    /**
+     * Run a write announced to the materialized stats, from before its transaction until after its {@link #afterWrite}
+     */
+    private <R> R announceWrite(final Supplier<R> write) {
+        stats.beginWrite();
+        try {
+            return write.get();
+        } finally {
+            stats.endWrite();
+        }
+    }
+
+    /**
+     * Update everything derived from db after a committed write
+     *
+     * @param before framework before the write, null for create
+     * @param after  framework after the write, null for delete
+     */
+    private void afterWrite(final JSFrameworkDto before, final JSFrameworkDto after) {
+        cache.evict(before, after);
+        singleFlight.evict(before, after);
+        stats.update(before, after);
+        changeLog.append(before, after);
+        if (after != null) {
+            nameIndex.put(after.getId(), after.getName());
+            columnarIndex.put(after);
+        } else {
+            nameIndex.remove(before.getId());
+            columnarIndex.remove(before.getId());
+        }
+    }
+
+    /**
+     * Validate the items and write the valid ones chunk by chunk, each chunk in its own transaction.
+     * When a chunk fails, its items are retried one by one to find the failing ones.
+     *
+     * @param items items of the bulk request
+     * @param write writes a chunk of items by their index, reporting changed frameworks
+     * @return result of every item, in the order of the request
+     */
+    private <T> List<BulkItemResultDto> bulk(final List<T> items,
+                                             final BiFunction<Map<Integer, T>, List<PendingChange>, Map<Integer, BulkItemResultDto>> write) {
+        BulkItemResultDto[] results = new BulkItemResultDto[items.size()];
+        Map<Integer, T> chunk = new LinkedHashMap<>();
+        for (int index = 0; index < items.size(); index++) {
+            Optional<String> invalid = validate(items.get(index));
+            if (invalid.isPresent()) {
+                results[index] = BulkItemResultDto.builder().index(index).status(INVALID).error(invalid.get()).build();
+                continue;
+            }
+            chunk.put(index, items.get(index));
+            if (chunk.size() == bulkProperties.getChunkSize()) {
+                writeChunk(chunk, write, results);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            writeChunk(chunk, write, results);
+        }
+        return Arrays.asList(results);
+    }
+
+    private <T> void writeChunk(final Map<Integer, T> chunk,
+                                final BiFunction<Map<Integer, T>, List<PendingChange>, Map<Integer, BulkItemResultDto>> write,
+                                final BulkItemResultDto[] results) {
+        try {
+            commitChunk(chunk, write, results);
+        } catch (RuntimeException chunkFailure) {
+            chunk.forEach((index, item) -> {
+                try {
+                    commitChunk(Map.of(index, item), write, results);
+                } catch (RuntimeException itemFailure) {
+                    results[index] = BulkItemResultDto.builder()
+                            .index(index)
+                            .status(FAILED)
+                            .error(NestedExceptionUtils.getMostSpecificCause(itemFailure).getMessage())
+                            .build();
+                }
+            });
+        }
+    }
+
+    private <T> void commitChunk(final Map<Integer, T> chunk,
+                                 final BiFunction<Map<Integer, T>, List<PendingChange>, Map<Integer, BulkItemResultDto>> write,
+                                 final BulkItemResultDto[] results) {
+        List<PendingChange> pending = new ArrayList<>();
+        List<Change> changes = new ArrayList<>();
+        Map<Integer, BulkItemResultDto> written = announceWrite(() -> {
+            Map<Integer, BulkItemResultDto> chunkWritten = new TransactionTemplate(transactionManager).execute(status -> {
+                Map<Integer, BulkItemResultDto> chunkResults = write.apply(chunk, pending);
+                entityManager.flush();
+                pending.forEach(change -> changes.add(change.flushed()));
+                entityManager.clear();
+                return chunkResults;
+            });
+            changes.forEach(change -> afterWrite(change.getBefore(), change.getAfter()));
+            return chunkWritten;
+        });
+        written.forEach((index, result) -> results[index] = result);
     }
 
-    public Stream<JSFrameworkDto> searchFrameworks(final SearchJSFrameworkDto filter) {
-        JavaScriptFrameworkSpecification spec = new JavaScriptFrameworkSpecification(filter);
-        return repository.findAll(spec, Sort.by("name")).stream().map(JSFrameworkDto::fromEntity);
+    private Optional<String> validate(final Object item) {
+        if (item == null) {
+            return Optional.of("item must not be null");
+        }
+        Set<ConstraintViolation<Object>> violations = validator.validate(item);
+        return violations.isEmpty()
+                ? Optional.empty()
+                : Optional.of(violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", ")));
+    }
+
+    private <T> Map<Long, JavaScriptFramework> findAllById(final Collection<T> items, final Function<T, Long> id) {
+        return repository.findAllById(items.stream().map(id).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(JavaScriptFramework::getId, Function.identity()));
+    }
+
+    private static BulkItemResultDto result(final int index, final Long id, final BulkItemResultDto.Status status) {
+        return BulkItemResultDto.builder().index(index).id(id).status(status).build();
+    }
+
+    /**
+     * Revision of a cached framework
+     */
+    @Value
+    private static class CachedRevision implements FrameworkRevision {
+        Long id;
+        Long revision;
+        Instant lastModified;
+    }
+
+    /**
+     * Framework written by a bulk chunk, applied to {@link #afterWrite} once the chunk commits
+     */
+    @Value
+    private static class Change {
+        JSFrameworkDto before;
+        JSFrameworkDto after;
+    }
+
+    /**
+     * Framework written by a bulk chunk, not flushed yet
+     */
+    @Value
+    private static class PendingChange {
+        JSFrameworkDto before;
+        /**
+         * Written entity, null for delete
+         */
+        JavaScriptFramework after;
+
+        /**
+         * @return the change with the revision and modification time of the flushed write
+         */
+        Change flushed() {
+            return new Change(before, after == null ? null : JSFrameworkDto.fromEntity(after));
+        }
     }
 }
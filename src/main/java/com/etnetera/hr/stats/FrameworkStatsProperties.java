@@ -0,0 +1,21 @@
+package com.etnetera.hr.stats;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration of {@link MaterializedFrameworkStats}.
+ *
+ * @author Etnetera
+ */
+@Data
+@Component
+@ConfigurationProperties("frameworks.stats")
+public class FrameworkStatsProperties {
+
+    /**
+     * Keep stats of all frameworks in memory and update them on writes, otherwise every request is aggregated by db
+     */
+    private boolean materialized = true;
+}
@@ -0,0 +1,151 @@
+package com.etnetera.hr.stats;
+
+import com.etnetera.hr.dto.FrameworkStatsDto;
+import com.etnetera.hr.dto.JSFrameworkDto;
+import com.etnetera.hr.dto.SearchJSFrameworkDto;
+import com.etnetera.hr.repository.JavaScriptFrameworkRepository;
+import com.etnetera.hr.repository.JavaScriptFrameworkSpecification;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Histograms of all frameworks kept in memory, so unfiltered stats are not aggregated by db on every request.
+ * <p>
+ * The histograms are loaded when the application starts and then updated by the differences reported by
+ * {@link com.etnetera.hr.service.JavaScriptFrameworkService}, so they do not see writes of other instances.
+ * A load overlapping a write is repeated, as its result may or may not include the write. Writes are announced from
+ * before their transaction until their update, so a write committed before the load but updated after it is not
+ * counted twice.
+ *
+ * @author Etnetera
+ */
+@Component
+@RequiredArgsConstructor
+public class MaterializedFrameworkStats {
+
+    private final JavaScriptFrameworkRepository repository;
+
+    private final PlatformTransactionManager transactionManager;
+
+    private final FrameworkStatsProperties properties;
+
+    private SortedMap<Integer, Long> hypeLevels = new TreeMap<>();
+
+    private SortedMap<Integer, Long> deprecationYears = new TreeMap<>();
+
+    private SortedMap<String, Long> versions = new TreeMap<>();
+
+    private long writes;
+
+    /**
+     * Number of announced writes not updated yet
+     */
+    private int pending;
+
+    private boolean ready;
+
+    /**
+     * Load histograms of all frameworks from db
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!properties.isMaterialized()) {
+            return;
+        }
+        JavaScriptFrameworkSpecification all = new JavaScriptFrameworkSpecification(SearchJSFrameworkDto.builder().build());
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        boolean loaded;
+        do {
+            long generation = generation();
+            FrameworkStatsDto stats = transaction.execute(status -> FrameworkStatsDto.of(
+                    repository.countByHypeLevel(all),
+                    repository.countByDeprecationYear(all),
+                    repository.countByVersion(all)
+            ));
+            loaded = set(generation, stats);
+        } while (!loaded);
+    }
+
+    /**
+     * Announce a write before its transaction starts, {@link #endWrite()} has to follow once it is updated or failed
+     */
+    public synchronized void beginWrite() {
+        pending++;
+    }
+
+    /**
+     * End an announced write, after its {@link #update} if it was committed
+     */
+    public synchronized void endWrite() {
+        pending--;
+    }
+
+    /**
+     * Apply a committed write to the histograms
+     *
+     * @param before framework before the write, null for create
+     * @param after  framework after the write, null for delete
+     */
+    public synchronized void update(final JSFrameworkDto before, final JSFrameworkDto after) {
+        if (!properties.isMaterialized()) {
+            return;
+        }
+        writes++;
+        if (!ready) {
+            return;
+        }
+        if (before != null) {
+            add(before, -1);
+        }
+        if (after != null) {
+            add(after, 1);
+        }
+    }
+
+    /**
+     * Get stats of all frameworks
+     *
+     * @return stats, empty if not materialized or not loaded yet
+     */
+    public synchronized Optional<FrameworkStatsDto> get() {
+        if (!ready) {
+            return Optional.empty();
+        }
+        return Optional.of(FrameworkStatsDto.of(new TreeMap<>(hypeLevels), new TreeMap<>(deprecationYears), new TreeMap<>(versions)));
+    }
+
+    private synchronized long generation() {
+        return writes;
+    }
+
+    private synchronized boolean set(final long generation, final FrameworkStatsDto stats) {
+        if (generation != writes || pending > 0) {
+            return false;
+        }
+        hypeLevels = new TreeMap<>(stats.getHypeLevels());
+        deprecationYears = new TreeMap<>(stats.getDeprecationYears());
+        versions = new TreeMap<>(stats.getVersions());
+        ready = true;
+        return true;
+    }
+
+    private void add(final JSFrameworkDto framework, final long count) {
+        add(hypeLevels, framework.getHypeLevel(), count);
+        add(deprecationYears, framework.getDeprecationDate().getYear(), count);
+        new HashSet<>(framework.getVersion()).forEach(version -> add(versions, version, count));
+    }
+
+    private static <K> void add(final SortedMap<K, Long> histogram, final K key, final long count) {
+        histogram.merge(key, count, (current, added) -> current + added == 0 ? null : current + added);
+    }
+}
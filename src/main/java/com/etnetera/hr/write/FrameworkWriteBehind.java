@@ -0,0 +1,284 @@
+package com.etnetera.hr.write;
+
+import com.etnetera.hr.dto.BulkItemResultDto;
+import com.etnetera.hr.dto.EditJSFrameworkDto;
+import com.etnetera.hr.dto.JSFrameworkDto;
+import com.etnetera.hr.dto.WriteStatusDto;
+import com.etnetera.hr.service.JavaScriptFrameworkService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Write-behind of framework creates and edits.
+ * <p>
+ * Writes are queued in a bounded queue and answered right away with their status, a full queue rejects them.
+ * A single writer thread takes the queued writes in batches, waiting up to {@link WriteBehindProperties#getMaximumDelay()}
+ * for a batch to fill, and commits every batch through the bulk writes of {@link JavaScriptFrameworkService}.
+ * Statuses of the writes are kept in memory, a write is lost if the application stops abnormally before its batch
+ * is committed.
+ *
+ * @author Etnetera
+ */
+@Slf4j
+@Component
+public class FrameworkWriteBehind {
+
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+
+    private final JavaScriptFrameworkService service;
+
+    private final WriteBehindProperties properties;
+
+    private final BlockingQueue<PendingWrite> queue;
+
+    private final Cache<String, WriteStatusDto> statuses;
+
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(task -> new Thread(task, "framework-write-behind"));
+
+    private final Timer commitTimer;
+
+    private final Counter rejected;
+
+    private volatile boolean running = true;
+
+    /**
+     * Held shared by writes being queued and exclusively by the stop, so no write is queued after the writer
+     * has seen it stopped and the queue empty
+     */
+    private final ReadWriteLock stopping = new ReentrantReadWriteLock();
+
+    public FrameworkWriteBehind(final JavaScriptFrameworkService service,
+                                final WriteBehindProperties properties,
+                                final MeterRegistry meterRegistry) {
+        this.service = service;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.statuses = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumStatuses())
+                .expireAfterWrite(properties.getStatusTimeToLive())
+                .build();
+        Gauge.builder("frameworks.write-behind.queue", queue, BlockingQueue::size)
+                .description("Writes waiting for the writer")
+                .register(meterRegistry);
+        this.commitTimer = Timer.builder("frameworks.write-behind.commit")
+                .description("Commit of one batch of writes")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("frameworks.write-behind.rejected")
+                .description("Writes rejected because of a full queue")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        writer.execute(this::writeQueued);
+    }
+
+    /**
+     * Write the queued writes and stop the writer
+     */
+    @PreDestroy
+    void stop() {
+        stopping.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            stopping.writeLock().unlock();
+        }
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(properties.getShutdownTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("{} queued framework writes were not written before shutdown", queue.size());
+                writer.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            writer.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Queue creation of a framework
+     *
+     * @param framework framework to create
+     * @return pending status of the write
+     * @throws RejectedExecutionException if the queue is full or the writer is stopped
+     */
+    public WriteStatusDto createFramework(final JSFrameworkDto framework) {
+        return submit(null, framework);
+    }
+
+    /**
+     * Queue edit of a framework
+     *
+     * @param id        of framework to edit
+     * @param framework edit data
+     * @return pending status of the write
+     * @throws RejectedExecutionException if the queue is full or the writer is stopped
+     */
+    public WriteStatusDto editFramework(final Long id, final JSFrameworkDto framework) {
+        return submit(id, framework);
+    }
+
+    /**
+     * Get status of a write
+     *
+     * @param writeId id of the write
+     * @return status, empty if the write is unknown or its status expired
+     */
+    public Optional<WriteStatusDto> getStatus(final String writeId) {
+        return Optional.ofNullable(statuses.getIfPresent(writeId));
+    }
+
+    private WriteStatusDto submit(final Long frameworkId, final JSFrameworkDto framework) {
+        WriteStatusDto status = WriteStatusDto.builder()
+                .id(UUID.randomUUID().toString())
+                .status(WriteStatusDto.Status.PENDING)
+                .frameworkId(frameworkId)
+                .build();
+        // the status is known before the writer can replace it
+        statuses.put(status.getId(), status);
+        stopping.readLock().lock();
+        try {
+            if (!running) {
+                statuses.invalidate(status.getId());
+                throw new RejectedExecutionException("Framework write-behind is stopped");
+            }
+            if (!queue.offer(new PendingWrite(status.getId(), frameworkId, framework))) {
+                statuses.invalidate(status.getId());
+                rejected.increment();
+                throw new RejectedExecutionException("Framework write queue is full");
+            }
+        } finally {
+            stopping.readLock().unlock();
+        }
+        return status;
+    }
+
+    private void writeQueued() {
+        while (running || !queue.isEmpty()) {
+            try {
+                List<PendingWrite> batch = takeBatch();
+                if (!batch.isEmpty()) {
+                    commitTimer.record(() -> write(batch));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Framework write batch failed", e);
+            }
+        }
+    }
+
+    /**
+     * Wait for the first write, then for more writes until the batch is full or the maximum delay passes
+     */
+    private List<PendingWrite> takeBatch() throws InterruptedException {
+        List<PendingWrite> batch = new ArrayList<>();
+        PendingWrite first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return batch;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + properties.getMaximumDelay().toNanos();
+        while (batch.size() < properties.getBatchSize()) {
+            queue.drainTo(batch, properties.getBatchSize() - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() == properties.getBatchSize() || remaining <= 0) {
+                break;
+            }
+            PendingWrite next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    /**
+     * Commit creates and edits of the batch as two bulk writes, creates and edits of the same framework
+     * can not meet in one batch as created frameworks get their ids only when written
+     */
+    private void write(final List<PendingWrite> batch) {
+        List<PendingWrite> creates = new ArrayList<>();
+        List<PendingWrite> edits = new ArrayList<>();
+        batch.forEach(write -> (write.getFrameworkId() == null ? creates : edits).add(write));
+        write(creates, writes -> service.createFrameworks(map(writes, PendingWrite::getFramework)));
+        write(edits, writes -> service.editFrameworks(map(writes, write -> EditJSFrameworkDto.builder()
+                .id(write.getFrameworkId())
+                .framework(write.getFramework())
+                .build())));
+    }
+
+    private void write(final List<PendingWrite> writes, final Function<List<PendingWrite>, List<BulkItemResultDto>> bulkWrite) {
+        if (writes.isEmpty()) {
+            return;
+        }
+        List<BulkItemResultDto> results;
+        try {
+            results = bulkWrite.apply(writes);
+        } catch (RuntimeException e) {
+            log.error("Framework writes failed", e);
+            writes.forEach(write -> statuses.put(write.getWriteId(), WriteStatusDto.builder()
+                    .id(write.getWriteId())
+                    .status(WriteStatusDto.Status.FAILED)
+                    .frameworkId(write.getFrameworkId())
+                    .error(e.getMessage())
+                    .build()));
+            return;
+        }
+        for (int i = 0; i < writes.size(); i++) {
+            BulkItemResultDto result = results.get(i);
+            statuses.put(writes.get(i).getWriteId(), WriteStatusDto.builder()
+                    .id(writes.get(i).getWriteId())
+                    .status(WriteStatusDto.Status.valueOf(result.getStatus().name()))
+                    .frameworkId(result.getId())
+                    .error(result.getError())
+                    .build());
+        }
+    }
+
+    private static <T> List<T> map(final List<PendingWrite> writes, final Function<PendingWrite, T> mapper) {
+        List<T> mapped = new ArrayList<>(writes.size());
+        writes.forEach(write -> mapped.add(mapper.apply(write)));
+        return mapped;
+    }
+
+    @Value
+    private static class PendingWrite {
+        String writeId;
+        /**
+         * Id of the edited framework, null for a create
+         */
+        Long frameworkId;
+        JSFrameworkDto framework;
+    }
+}
@@ -0,0 +1,58 @@
+package com.etnetera.hr.write;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration of {@link FrameworkWriteBehind}.
+ *
+ * @author Etnetera
+ */
+@Data
+@Component
+@ConfigurationProperties("frameworks.write-behind")
+public class WriteBehindProperties {
+
+    /**
+     * Accept writes asking for asynchronous processing, otherwise they are written synchronously
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of queued writes, further writes are rejected until the writer catches up
+     */
+    private int queueCapacity = 10_000;
+
+    /**
+     * Maximum number of writes committed together
+     */
+    private int batchSize = 500;
+
+    /**
+     * Time the writer waits for more writes to fill a batch after the first one
+     */
+    private Duration maximumDelay = Duration.ofMillis(20);
+
+    /**
+     * Retry-After of rejected writes
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    /**
+     * Maximum number of remembered write statuses
+     */
+    private long maximumStatuses = 100_000;
+
+    /**
+     * Time for which the status of a write is remembered
+     */
+    private Duration statusTimeToLive = Duration.ofMinutes(10);
+
+    /**
+     * Time the writer has to write queued writes on shutdown
+     */
+    private Duration shutdownTimeout = Duration.ofSeconds(30);
+}
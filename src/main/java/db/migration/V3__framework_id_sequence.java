@@ -0,0 +1,34 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Replace the shared hibernate_sequence by a framework sequence allocating ids in blocks of 50.
+ * <p>
+ * Hibernate's pooled optimizer takes the sequence value as the upper end of a block, except for the very first
+ * value 1, so an existing db has to start above its greatest id by a whole block.
+ *
+ * @author Etnetera
+ */
+public class V3__framework_id_sequence extends BaseJavaMigration {
+
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement statement = context.getConnection().createStatement()) {
+            long maxId;
+            try (ResultSet result = statement.executeQuery("select coalesce(max(id), 0) from java_script_framework")) {
+                result.next();
+                maxId = result.getLong(1);
+            }
+            long start = maxId == 0 ? 1 : maxId + ALLOCATION_SIZE;
+            statement.execute("create sequence java_script_framework_seq start with " + start + " increment by " + ALLOCATION_SIZE);
+            statement.execute("drop sequence hibernate_sequence");
+        }
+    }
+}
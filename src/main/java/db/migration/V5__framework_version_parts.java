@@ -0,0 +1,115 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Add the major, minor and patch parts and the latest flag to the versions, parsed from the existing versions.
+ * <p>
+ * Parsing repeats {@code SemanticVersion} of the time of this migration, so later changes of the application
+ * do not change what the migration did.
+ *
+ * @author Etnetera
+ */
+public class V5__framework_version_parts extends BaseJavaMigration {
+
+    private static final Pattern SEMANTIC_VERSION = Pattern.compile("v?(\\d{1,9})(?:\\.(\\d{1,9}))?(?:\\.(\\d{1,9}))?");
+
+    private static final int BATCH_SIZE = 500;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement statement = context.getConnection().createStatement()) {
+            statement.execute("alter table java_script_framework_version add column major integer");
+            statement.execute("alter table java_script_framework_version add column minor integer");
+            statement.execute("alter table java_script_framework_version add column patch integer");
+            statement.execute("alter table java_script_framework_version add column latest boolean default false not null");
+
+            // the table has no key, every row is updated by its H2 row id, so a version listed twice is marked once
+            try (ResultSet versions = statement.executeQuery(
+                    "select _rowid_, java_script_framework_id, version from java_script_framework_version " +
+                            "order by java_script_framework_id, _rowid_");
+                 PreparedStatement update = context.getConnection().prepareStatement(
+                         "update java_script_framework_version set major = ?, minor = ?, patch = ?, latest = ? where _rowid_ = ?")) {
+                List<Long> rowIds = new ArrayList<>();
+                List<String> frameworkVersions = new ArrayList<>();
+                Long frameworkId = null;
+                int batched = 0;
+                while (versions.next()) {
+                    if (frameworkId != null && frameworkId != versions.getLong(2)) {
+                        batched += addUpdates(update, rowIds, frameworkVersions);
+                        rowIds.clear();
+                        frameworkVersions.clear();
+                    }
+                    frameworkId = versions.getLong(2);
+                    rowIds.add(versions.getLong(1));
+                    frameworkVersions.add(versions.getString(3));
+                    if (batched >= BATCH_SIZE) {
+                        update.executeBatch();
+                        batched = 0;
+                    }
+                }
+                if (frameworkId != null) {
+                    addUpdates(update, rowIds, frameworkVersions);
+                }
+                update.executeBatch();
+            }
+
+            // range filters look up the major part, latest version filters the flag first
+            statement.execute("create index idx_framework_version_parts on java_script_framework_version " +
+                    "(major, minor, patch, java_script_framework_id)");
+            statement.execute("create index idx_framework_version_latest_parts on java_script_framework_version " +
+                    "(latest, major, minor, patch, java_script_framework_id)");
+        }
+    }
+
+    /**
+     * Add updates of the versions of one framework to the batch. Only the first of the latest versions is marked,
+     * as {@code FrameworkVersion.of} does, also when the version is listed more than once.
+     *
+     * @return number of added updates
+     */
+    private static int addUpdates(PreparedStatement update, List<Long> rowIds, List<String> versions) throws Exception {
+        int[][] parts = new int[versions.size()][];
+        int latest = -1;
+        for (int i = 0; i < versions.size(); i++) {
+            Matcher matcher = SEMANTIC_VERSION.matcher(versions.get(i));
+            if (matcher.matches()) {
+                parts[i] = new int[]{part(matcher, 1), part(matcher, 2), part(matcher, 3)};
+                if (latest < 0 || compare(parts[i], parts[latest]) > 0) {
+                    latest = i;
+                }
+            }
+        }
+        for (int i = 0; i < versions.size(); i++) {
+            for (int part = 0; part < 3; part++) {
+                update.setObject(part + 1, parts[i] == null ? null : parts[i][part]);
+            }
+            update.setBoolean(4, i == latest);
+            update.setLong(5, rowIds.get(i));
+            update.addBatch();
+        }
+        return versions.size();
+    }
+
+    private static int compare(int[] version, int[] other) {
+        for (int part = 0; part < 3; part++) {
+            if (version[part] != other[part]) {
+                return Integer.compare(version[part], other[part]);
+            }
+        }
+        return 0;
+    }
+
+    private static int part(Matcher matcher, int group) {
+        return matcher.group(group) == null ? 0 : Integer.parseInt(matcher.group(group));
+    }
+}
@@ -0,0 +1,90 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Add the content hash to the frameworks, computed from the existing frameworks and their versions.
+ * <p>
+ * Hashing repeats {@code JavaScriptFramework.contentHash} of the time of this migration, so later changes
+ * of the application do not change what the migration did.
+ *
+ * @author Etnetera
+ */
+public class V6__framework_content_hash extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 500;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement statement = context.getConnection().createStatement()) {
+            statement.execute("alter table java_script_framework add column content_hash varchar(64)");
+
+            try (ResultSet rows = statement.executeQuery(
+                    "select f.id, f.name, f.deprecation_date, f.hype_level, v.version from java_script_framework f " +
+                            "left join java_script_framework_version v on v.java_script_framework_id = f.id order by f.id");
+                 PreparedStatement update = context.getConnection().prepareStatement(
+                         "update java_script_framework set content_hash = ? where id = ?")) {
+                List<String> versions = new ArrayList<>();
+                String[] framework = null;
+                long frameworkId = 0;
+                int batched = 0;
+                while (rows.next()) {
+                    if (framework != null && frameworkId != rows.getLong(1)) {
+                        addUpdate(update, frameworkId, framework, versions);
+                        versions.clear();
+                        if (++batched == BATCH_SIZE) {
+                            update.executeBatch();
+                            batched = 0;
+                        }
+                    }
+                    frameworkId = rows.getLong(1);
+                    framework = new String[]{rows.getString(2), rows.getDate(3).toLocalDate().toString(), String.valueOf(rows.getInt(4))};
+                    if (rows.getString(5) != null) {
+                        versions.add(rows.getString(5));
+                    }
+                }
+                if (framework != null) {
+                    addUpdate(update, frameworkId, framework, versions);
+                }
+                update.executeBatch();
+            }
+
+            statement.execute("alter table java_script_framework alter column content_hash set not null");
+        }
+    }
+
+    /**
+     * Add update of the hash of one framework to the batch
+     *
+     * @param framework name, deprecation date and hype level of the framework
+     */
+    private static void addUpdate(PreparedStatement update, long frameworkId, String[] framework, List<String> versions) throws Exception {
+        update.setString(1, contentHash(framework[0], versions, framework[1], framework[2]));
+        update.setLong(2, frameworkId);
+        update.addBatch();
+    }
+
+    private static String contentHash(String name, List<String> versions, String deprecationDate, String hypeLevel) throws Exception {
+        StringBuilder content = new StringBuilder();
+        appendValue(content, name);
+        appendValue(content, deprecationDate);
+        appendValue(content, hypeLevel);
+        versions.stream().sorted().forEach(value -> appendValue(content, value));
+        byte[] hash = MessageDigest.getInstance("SHA-256").digest(content.toString().getBytes(StandardCharsets.UTF_8));
+        return String.format("%064x", new BigInteger(1, hash));
+    }
+
+    private static void appendValue(StringBuilder content, String value) {
+        content.append(value.length()).append(':').append(value);
+    }
+}
@@ -0,0 +1,17 @@
+create sequence hibernate_sequence start with 1 increment by 1;
+
+create table java_script_framework (
+    id               bigint      not null,
+    deprecation_date date        not null,
+    hype_level       integer     not null,
+    name             varchar(30) not null,
+    primary key (id)
+);
+
+create table java_script_framework_version (
+    java_script_framework_id bigint       not null,
+    version                  varchar(255) not null
+);
+
+alter table java_script_framework_version
+    add constraint fk_framework_version_framework foreign key (java_script_framework_id) references java_script_framework;
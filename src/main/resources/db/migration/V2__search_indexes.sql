@@ -0,0 +1,7 @@
+-- Indexes serving the filters of JavaScriptFrameworkSpecification
+create index idx_framework_name on java_script_framework (name);
+create index idx_framework_deprecation_date on java_script_framework (deprecation_date);
+create index idx_framework_hype_level on java_script_framework (hype_level);
+
+-- Version filter is evaluated as a semi-join from the version value to the framework id
+create index idx_framework_version_version on java_script_framework_version (version, java_script_framework_id);
@@ -0,0 +1,3 @@
+-- Optimistic lock counter and modification time behind ETag and Last-Modified
+alter table java_script_framework add column revision bigint default 0 not null;
+alter table java_script_framework add column last_modified timestamp default current_timestamp not null;
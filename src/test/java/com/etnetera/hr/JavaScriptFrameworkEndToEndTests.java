@@ -1,7 +1,11 @@
 package com.etnetera.hr;
 
+import com.etnetera.hr.controller.JavaScriptFrameworkController;
+import com.etnetera.hr.dto.FrameworkPageDto;
 import com.etnetera.hr.dto.JSFrameworkDto;
+import com.etnetera.hr.server.BinaryFormatsConfiguration;
 import com.etnetera.hr.service.JavaScriptFrameworkService;
+import com.jayway.jsonpath.JsonPath;
 import org.hamcrest.Matchers;
 import org.junit.Assert;
 import org.junit.Test;
@@ -9,13 +13,19 @@ import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.LongStream;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.Matchers.*;
@@ -40,6 +50,12 @@ public class JavaScriptFrameworkEndToEndTests {
     @Autowired
     private JavaScriptFrameworkService service;
 
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileConverter;
+
     @Test
     public void givenFramework_whenGetFrameworks_thenReturn200() throws Exception {
         createFramework("test framework", "2022-01-01", 10, List.of("0.0.1", "1.0.0"));
@@ -52,6 +68,85 @@ public class JavaScriptFrameworkEndToEndTests {
                 .andExpect(jsonPath("$[1].name", is("test framework2")));
     }
 
+    @Test
+    public void givenFrameworks_whenGetFrameworksWithLimit_thenReturnPageAndNextCursor() throws Exception {
+        createFramework("framework1", "2022-01-01", 0, List.of("1"));
+        JSFrameworkDto second = createFramework("framework2", "2022-01-01", 0, List.of("1"));
+        createFramework("framework3", "2022-01-01", 0, List.of("1"));
+
+        mvc.perform(get("/frameworks").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(JavaScriptFrameworkController.NEXT_CURSOR_HEADER, String.valueOf(second.getId())))
+                .andExpect(jsonPath("$", is(iterableWithSize(2))))
+                .andExpect(jsonPath("$[0].name", is("framework1")))
+                .andExpect(jsonPath("$[1].name", is("framework2")));
+
+        mvc.perform(get("/frameworks")
+                        .param("limit", "2")
+                        .param("after", String.valueOf(second.getId()))
+                )
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(JavaScriptFrameworkController.NEXT_CURSOR_HEADER))
+                .andExpect(jsonPath("$", is(iterableWithSize(1))))
+                .andExpect(jsonPath("$[0].name", is("framework3")));
+    }
+
+    @Test
+    public void givenParamFields_whenGetFrameworks_thenReturnSparsePageWithIdAndRevision() throws Exception {
+        createFramework("framework1", "2022-01-01", 1, List.of("1"));
+        String etag = mvc.perform(get("/frameworks").param("fields", "name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name", is("framework1")))
+                .andExpect(jsonPath("$[0].id").exists())
+                .andExpect(jsonPath("$[0].revision").exists())
+                .andExpect(jsonPath("$[0].version").doesNotExist())
+                .andExpect(jsonPath("$[0].hypeLevel").doesNotExist())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mvc.perform(get("/frameworks").param("fields", "name").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        mvc.perform(get("/frameworks").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].version", contains("1")));
+    }
+
+    @Test
+    public void givenAcceptCbor_whenGetFrameworks_thenReturnCbor() throws Exception {
+        createFramework("framework1", "2022-01-01", 1, List.of("1", "2"));
+        byte[] cbor = mvc.perform(get("/frameworks").accept(BinaryFormatsConfiguration.APPLICATION_CBOR_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(BinaryFormatsConfiguration.APPLICATION_CBOR_VALUE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JSFrameworkDto[] frameworks = cborConverter.getObjectMapper().readValue(cbor, JSFrameworkDto[].class);
+        assertThat(frameworks[0].getName(), is("framework1"));
+        assertThat(frameworks[0].getVersion(), contains("1", "2"));
+        assertThat(frameworks[0].getDeprecationDate(), is(LocalDate.parse("2022-01-01")));
+    }
+
+    @Test
+    public void givenInvalidLimit_whenGetFrameworks_thenReturnBadRequest() throws Exception {
+        mvc.perform(get("/frameworks").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/frameworks").param("limit", String.valueOf(FrameworkPageDto.MAX_LIMIT + 1)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void givenFrameworks_whenGetFrameworksAsNdjson_thenStreamOneFrameworkPerLine() throws Exception {
+        createFramework("framework1", "2022-01-01", 0, List.of("1"));
+        createFramework("framework2", "2023-01-01", 5, List.of("1", "2"));
+
+        String body = mvc.perform(get("/frameworks").accept(JavaScriptFrameworkController.APPLICATION_NDJSON_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(JavaScriptFrameworkController.APPLICATION_NDJSON_VALUE))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertThat(lines.length, is(2));
+        assertThat(lines[0], containsString("\"name\":\"framework1\""));
+        assertThat(lines[1], containsString("\"name\":\"framework2\""));
+    }
+
     @Test
     public void whenCreateFramework_thenReturnFrameworkAndLocation() throws Exception {
         mvc.perform(post("/frameworks")
@@ -181,6 +276,182 @@ public class JavaScriptFrameworkEndToEndTests {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    public void givenFrameworks_whenBulkCreate_thenReturnResultPerItem() throws Exception {
+        mvc.perform(post("/frameworks/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" +
+                                "{\"name\": \"framework1\", \"version\": [\"1\"], \"deprecationDate\": \"2022-01-01\", \"hypeLevel\": 1}," +
+                                "{\"name\": \"\", \"version\": [\"1\"], \"deprecationDate\": \"2022-01-01\", \"hypeLevel\": 1}," +
+                                "{\"name\": \"framework3\", \"version\": [\"1\", \"2\"], \"deprecationDate\": \"2022-01-01\", \"hypeLevel\": 3}" +
+                                "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", is(iterableWithSize(3))))
+                .andExpect(jsonPath("$[0].index", is(0)))
+                .andExpect(jsonPath("$[0].status", is("CREATED")))
+                .andExpect(jsonPath("$[0].id", is(notNullValue())))
+                .andExpect(jsonPath("$[1].status", is("INVALID")))
+                .andExpect(jsonPath("$[1].error", containsString("name")))
+                .andExpect(jsonPath("$[2].status", is("CREATED")));
+
+        assertThat(service.getAllFrameworks(), hasSize(2));
+        mvc.perform(get("/frameworks/search").param("name", "framework3"))
+                .andExpect(jsonPath("$[0].version", contains("1", "2")));
+    }
+
+    @Test
+    public void givenFrameworkRejectedByDb_whenBulkCreate_thenFailOnlyThatItem() throws Exception {
+        String tooLongName = "x".repeat(31);
+        mvc.perform(post("/frameworks/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" +
+                                "{\"name\": \"framework1\", \"version\": [\"1\"], \"deprecationDate\": \"2022-01-01\", \"hypeLevel\": 1}," +
+                                "{\"name\": \"" + tooLongName + "\", \"version\": [\"1\"], \"deprecationDate\": \"2022-01-01\", \"hypeLevel\": 1}," +
+                                "{\"name\": \"framework3\", \"version\": [\"1\"], \"deprecationDate\": \"2022-01-01\", \"hypeLevel\": 3}" +
+                                "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status", is("CREATED")))
+                .andExpect(jsonPath("$[1].status", is("FAILED")))
+                .andExpect(jsonPath("$[1].error", is(notNullValue())))
+                .andExpect(jsonPath("$[2].status", is("CREATED")));
+
+        assertThat(service.getAllFrameworks(), hasSize(2));
+    }
+
+    @Test
+    public void givenFrameworks_whenBulkEdit_thenReturnResultPerItem() throws Exception {
+        JSFrameworkDto framework = createFramework("framework", "2022-01-01", 0, List.of("1"));
+        mvc.perform(put("/frameworks/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" +
+                                "{\"id\": " + framework.getId() + ", \"framework\": {\"name\": \"new name\", \"version\": [\"2\"], \"deprecationDate\": \"2023-01-01\", \"hypeLevel\": 10}}," +
+                                "{\"id\": 999, \"framework\": {\"name\": \"missing\", \"version\": [\"2\"], \"deprecationDate\": \"2023-01-01\", \"hypeLevel\": 10}}" +
+                                "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status", is("UPDATED")))
+                .andExpect(jsonPath("$[1].status", is("NOT_FOUND")));
+
+        mvc.perform(get("/frameworks/{id}", framework.getId()))
+                .andExpect(jsonPath("$.name", is("new name")))
+                .andExpect(jsonPath("$.version", contains("2")))
+                .andExpect(jsonPath("$.hypeLevel", is(10)));
+    }
+
+    @Test
+    public void givenFrameworks_whenBulkDelete_thenReturnResultPerItem() throws Exception {
+        JSFrameworkDto framework1 = createFramework("framework1", "2022-01-01", 0, List.of("1"));
+        JSFrameworkDto framework2 = createFramework("framework2", "2022-01-01", 0, List.of("1"));
+        createFramework("framework3", "2022-01-01", 0, List.of("1"));
+        mvc.perform(delete("/frameworks/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + framework1.getId() + ", 999, " + framework2.getId() + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status", is("DELETED")))
+                .andExpect(jsonPath("$[1].status", is("NOT_FOUND")))
+                .andExpect(jsonPath("$[2].status", is("DELETED")));
+
+        assertThat(service.getAllFrameworks(), hasSize(1));
+        mvc.perform(get("/frameworks/search").param("name", "framework"))
+                .andExpect(jsonPath("$", is(iterableWithSize(1))));
+    }
+
+    @Test
+    public void givenFrameworks_whenGetFrameworksByIds_thenReturnInRequestedOrderAndMissing() throws Exception {
+        JSFrameworkDto framework1 = createFramework("framework1", "2022-01-01", 0, List.of("1", "2"));
+        JSFrameworkDto framework2 = createFramework("framework2", "2022-01-01", 0, List.of("1"));
+        mvc.perform(get("/frameworks").param("ids", framework2.getId() + ",999," + framework1.getId() + "," + framework2.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.frameworks", is(iterableWithSize(2))))
+                .andExpect(jsonPath("$.frameworks[0].name", is("framework2")))
+                .andExpect(jsonPath("$.frameworks[1].name", is("framework1")))
+                .andExpect(jsonPath("$.frameworks[1].version", contains("1", "2")))
+                .andExpect(jsonPath("$.missing", contains(999)));
+    }
+
+    @Test
+    public void givenFrameworks_whenLookupFrameworks_thenReturnInRequestedOrderAndMissing() throws Exception {
+        JSFrameworkDto framework1 = createFramework("framework1", "2022-01-01", 0, List.of("1"));
+        JSFrameworkDto framework2 = createFramework("framework2", "2022-01-01", 0, List.of("1"));
+        service.getFrameworkById(framework1.getId());
+        mvc.perform(post("/frameworks/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[998, " + framework2.getId() + ", " + framework1.getId() + ", 999]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.frameworks[*].name", contains("framework2", "framework1")))
+                .andExpect(jsonPath("$.missing", contains(998, 999)));
+    }
+
+    @Test
+    public void givenNullOrTooManyIds_whenLookupFrameworks_thenReturn400Or413() throws Exception {
+        mvc.perform(post("/frameworks/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1, null]"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(post("/frameworks/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(Arrays.toString(LongStream.rangeClosed(1, 10_001).toArray())))
+                .andExpect(status().isPayloadTooLarge());
+        mvc.perform(get("/frameworks").param("ids", "1,x"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void givenCsv_whenImportTwice_thenInsertAndThenLeaveUnchanged() throws Exception {
+        String csv = "name,version,deprecationDate,hypeLevel\r\n" +
+                "framework1,1;2,2022-01-01,10\r\n" +
+                "\"framework, \"\"quoted\"\"\",\"3\",2023-01-01,20\r\n" +
+                "framework3,1,not a date,30\r\n" +
+                ",1,2022-01-01,40\r\n";
+        for (int inserted : List.of(2, 0)) {
+            mvc.perform(post("/frameworks/import")
+                            .contentType(JavaScriptFrameworkController.TEXT_CSV_VALUE)
+                            .content(csv))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.inserted", is(inserted)))
+                    .andExpect(jsonPath("$.updated", is(0)))
+                    .andExpect(jsonPath("$.unchanged", is(2 - inserted)))
+                    .andExpect(jsonPath("$.rejected", is(2)))
+                    .andExpect(jsonPath("$.rejections[*].line", contains(4, 5)))
+                    .andExpect(jsonPath("$.rejections[0].error", is("deprecationDate is not an ISO date")))
+                    .andExpect(jsonPath("$.rejections[1].error", startsWith("name ")));
+        }
+        assertThat(service.getAllFrameworks(), hasSize(2));
+        assertThat(service.getAllFrameworks().get(1).getName(), is("framework, \"quoted\""));
+    }
+
+    @Test
+    public void givenNdjson_whenImport_thenUpsertByName() throws Exception {
+        JSFrameworkDto existing = createFramework("framework1", "2022-01-01", 1, List.of("1"));
+        String ndjson = "{\"id\": 999, \"name\": \"framework1\", \"version\": [\"2\"], \"deprecationDate\": \"2022-01-01\", \"hypeLevel\": 1}\n" +
+                "\n" +
+                "{\"name\": \"framework2\", \"version\": [\"1\"], \"deprecationDate\": \"2022-01-01\", \"hypeLevel\": 2}\n" +
+                "{\"name\": \"framework3\", \"version\": \n" +
+                "{\"name\": \"framework2\", \"version\": [\"1\"], \"deprecationDate\": \"2022-01-01\", \"hypeLevel\": 3}";
+        mvc.perform(post("/frameworks/import")
+                        .contentType(JavaScriptFrameworkController.APPLICATION_NDJSON_VALUE)
+                        .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inserted", is(1)))
+                .andExpect(jsonPath("$.updated", is(2)))
+                .andExpect(jsonPath("$.unchanged", is(0)))
+                .andExpect(jsonPath("$.rejected", is(1)))
+                .andExpect(jsonPath("$.rejections[0].line", is(4)));
+
+        assertThat(service.getFrameworkById(existing.getId()).orElseThrow().getVersion(), contains("2"));
+        assertThat(service.getAllFrameworks(), hasSize(2));
+        mvc.perform(get("/frameworks/search").param("name", "framework2"))
+                .andExpect(jsonPath("$[*].hypeLevel", contains(3)));
+    }
+
+    @Test
+    public void givenCsvWithoutColumn_whenImport_thenReturnBadRequest() throws Exception {
+        mvc.perform(post("/frameworks/import")
+                        .contentType(JavaScriptFrameworkController.TEXT_CSV_VALUE)
+                        .content("name,version,hypeLevel\nframework1,1,10\n"))
+                .andExpect(status().isBadRequest());
+        assertThat(service.getAllFrameworks(), is(empty()));
+    }
+
     @Test
     public void givenParamName_whenSearchFrameworks_thenReturnFound() throws Exception {
         createFramework("framework", "2022-01-01", 0, List.of("1"));
@@ -225,6 +496,82 @@ public class JavaScriptFrameworkEndToEndTests {
                 .andExpect(jsonPath("$[1].name", is("framework3")));
     }
 
+    @Test
+    public void givenParamVersionRange_whenSearchFrameworks_thenReturnFound() throws Exception {
+        createFramework("framework1", "2022-01-01", 0, List.of("1.9.9", "v3"));
+        createFramework("framework2", "2022-01-01", 0, List.of("2"));
+        createFramework("framework3", "2022-01-01", 0, List.of("2.10.1", "beta"));
+        createFramework("framework4", "2022-01-01", 0, List.of("3.0.0-rc.1"));
+        mvc.perform(get("/frameworks/search")
+                        .param("versionRange", ">=2.0 <3")
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", is(iterableWithSize(2))))
+                .andExpect(jsonPath("$[0].name", is("framework2")))
+                .andExpect(jsonPath("$[1].name", is("framework3")))
+                .andExpect(jsonPath("$[1].version", contains("2.10.1", "beta")));
+    }
+
+    @Test
+    public void givenParamLatestVersion_whenSearchFrameworks_thenReturnFoundByLatestVersion() throws Exception {
+        createFramework("framework1", "2022-01-01", 0, List.of("2.1", "10.0"));
+        createFramework("framework2", "2022-01-01", 0, List.of("1.0", "2.1"));
+        mvc.perform(get("/frameworks/search")
+                        .param("versionRange", ">2 <3")
+                        .param("latestVersion", "true")
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", is(iterableWithSize(1))))
+                .andExpect(jsonPath("$[0].name", is("framework2")));
+        mvc.perform(get("/frameworks/search")
+                        .param("version", "2.1")
+                        .param("latestVersion", "true")
+                )
+                .andExpect(jsonPath("$", is(iterableWithSize(1))))
+                .andExpect(jsonPath("$[0].name", is("framework2")));
+    }
+
+    @Test
+    public void givenInvalidVersionRange_whenSearchFrameworks_thenReturn400() throws Exception {
+        mvc.perform(get("/frameworks/search").param("versionRange", ">=2.x"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void givenParamSortAndFields_whenSearchFrameworks_thenReturnSortedSparseFrameworks() throws Exception {
+        createFramework("framework1", "2022-01-01", 1, List.of("1"));
+        createFramework("framework2", "2022-01-01", 2, List.of("2"));
+        createFramework("framework3", "2022-01-01", 1, List.of("3"));
+        mvc.perform(get("/frameworks/search")
+                        .param("sort", "-hypeLevel,-name")
+                        .param("fields", "name,hypeLevel")
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].name", contains("framework2", "framework3", "framework1")))
+                .andExpect(jsonPath("$[0].hypeLevel", is(2)))
+                .andExpect(jsonPath("$[0].id").exists())
+                .andExpect(jsonPath("$[0].version").doesNotExist())
+                .andExpect(jsonPath("$[0].deprecationDate").doesNotExist());
+        mvc.perform(get("/frameworks/search")
+                        .param("sort", "hypeLevel")
+                        .param("fields", "version")
+                )
+                .andExpect(jsonPath("$[*].version[0]", contains("1", "3", "2")))
+                .andExpect(jsonPath("$[0].name").doesNotExist());
+    }
+
+    @Test
+    public void givenInvalidSortOrFields_whenSearchFrameworks_thenReturn400() throws Exception {
+        mvc.perform(get("/frameworks/search").param("sort", "revision"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/frameworks/search").param("sort", "name,-name"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/frameworks/search").param("fields", "name,unknown"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/frameworks").param("fields", "unknown"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     public void givenParamDeprecationDateBefore_whenSearchFrameworks_thenReturnFound() throws Exception {
         createFramework("framework1", "2021-01-01", 0, List.of("1"));
@@ -321,6 +668,90 @@ public class JavaScriptFrameworkEndToEndTests {
                 .andExpect(jsonPath("$[0].name", is("framework3")));
     }
 
+    @Test
+    public void givenParamNameIgnoreCase_whenSearchFrameworks_thenReturnFound() throws Exception {
+        createFramework("React", "2022-01-01", 0, List.of("1"));
+        createFramework("preact", "2022-01-01", 0, List.of("1"));
+        createFramework("Vue", "2022-01-01", 0, List.of("1"));
+        mvc.perform(get("/frameworks/search")
+                        .param("name", "REACT")
+                        .param("nameIgnoreCase", "true")
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", is(iterableWithSize(2))))
+                .andExpect(jsonPath("$[0].name", is("React")))
+                .andExpect(jsonPath("$[1].name", is("preact")));
+    }
+
+    @Test
+    public void givenParamNamePrefixFirst_whenSearchFrameworks_thenReturnPrefixMatchesFirst() throws Exception {
+        createFramework("a script", "2022-01-01", 0, List.of("1"));
+        createFramework("script b", "2022-01-01", 0, List.of("1"));
+        createFramework("b script", "2022-01-01", 0, List.of("1"));
+        mvc.perform(get("/frameworks/search")
+                        .param("name", "script")
+                        .param("namePrefixFirst", "true")
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", is(iterableWithSize(3))))
+                .andExpect(jsonPath("$[0].name", is("script b")))
+                .andExpect(jsonPath("$[1].name", is("a script")))
+                .andExpect(jsonPath("$[2].name", is("b script")));
+    }
+
+    @Test
+    public void givenFrameworks_whenSearchFrameworksAsNdjson_thenStreamOneFoundFrameworkPerLine() throws Exception {
+        createFramework("framework2", "2022-01-01", 0, List.of("1", "2"));
+        createFramework("framework1", "2022-01-01", 0, List.of("2"));
+        createFramework("framework3", "2022-01-01", 0, List.of("3"));
+
+        String body = mvc.perform(get("/frameworks/search")
+                        .param("version", "2")
+                        .accept(JavaScriptFrameworkController.APPLICATION_NDJSON_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(JavaScriptFrameworkController.APPLICATION_NDJSON_VALUE))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertThat(lines.length, is(2));
+        assertThat(lines[0], containsString("\"name\":\"framework1\""));
+        assertThat(lines[1], containsString("\"version\":[\"1\",\"2\"]"));
+    }
+
+    @Test
+    public void givenAcceptSmile_whenSearchFrameworks_thenReturnSmile() throws Exception {
+        createFramework("framework1", "2022-01-01", 1, List.of("1"));
+        createFramework("framework2", "2022-01-01", 2, List.of("2"));
+        byte[] smile = mvc.perform(get("/frameworks/search")
+                        .param("minHypeLevel", "2")
+                        .accept(BinaryFormatsConfiguration.APPLICATION_SMILE_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(BinaryFormatsConfiguration.APPLICATION_SMILE_VALUE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JSFrameworkDto[] frameworks = smileConverter.getObjectMapper().readValue(smile, JSFrameworkDto[].class);
+        assertThat(frameworks.length, is(1));
+        assertThat(frameworks[0].getName(), is("framework2"));
+        assertThat(frameworks[0].getDeprecationDate(), is(LocalDate.parse("2022-01-01")));
+    }
+
+    @Test
+    public void givenEditedFramework_whenSearchFrameworksByName_thenReturnCurrentName() throws Exception {
+        JSFrameworkDto framework = createFramework("old name", "2022-01-01", 0, List.of("1"));
+        service.editFramework(framework.getId(), JSFrameworkDto.builder()
+                .name("new name")
+                .deprecationDate(LocalDate.parse("2022-01-01"))
+                .hypeLevel(0)
+                .version(List.of("1"))
+                .build());
+        mvc.perform(get("/frameworks/search").param("name", "old"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", is(iterableWithSize(0))));
+        mvc.perform(get("/frameworks/search").param("name", "new"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name", is("new name")));
+    }
+
     @Test
     public void givenAllParams_whenSearchFrameworks_thenReturnFound() throws Exception {
         createFramework("framework1 lib", "2021-01-01", 1, List.of("1"));
@@ -343,6 +774,286 @@ public class JavaScriptFrameworkEndToEndTests {
                 .andExpect(jsonPath("$[1].name", is("framework4 lib")));
     }
 
+    @Test
+    public void givenFilter_whenGetStats_thenAggregateFoundFrameworks() throws Exception {
+        createFramework("framework1", "2021-01-01", 2, List.of("1", "2"));
+        createFramework("framework2", "2022-06-01", 4, List.of("2"));
+        createFramework("framework3", "2022-01-01", 9, List.of("2", "3"));
+
+        mvc.perform(get("/frameworks/stats").param("minHypeLevel", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count", is(2)))
+                .andExpect(jsonPath("$.minHypeLevel", is(4)))
+                .andExpect(jsonPath("$.maxHypeLevel", is(9)))
+                .andExpect(jsonPath("$.averageHypeLevel", is(6.5)))
+                .andExpect(jsonPath("$.hypeLevels.4", is(1)))
+                .andExpect(jsonPath("$.hypeLevels.9", is(1)))
+                .andExpect(jsonPath("$.deprecationYears.2022", is(2)))
+                .andExpect(jsonPath("$.versions.2", is(2)))
+                .andExpect(jsonPath("$.versions.3", is(1)))
+                .andExpect(jsonPath("$.versions", not(hasKey("1"))));
+    }
+
+    @Test
+    public void givenWrittenFrameworks_whenGetStats_thenMaterializedStatsMatchDatabase() throws Exception {
+        JSFrameworkDto edited = createFramework("framework1", "2021-01-01", 2, List.of("1", "2"));
+        JSFrameworkDto deleted = createFramework("framework2", "2022-06-01", 4, List.of("2"));
+        createFramework("framework3", "2022-01-01", 9, List.of("2", "3"));
+        service.editFramework(edited.getId(), JSFrameworkDto.builder()
+                .name("framework1")
+                .deprecationDate(LocalDate.parse("2023-01-01"))
+                .hypeLevel(9)
+                .version(List.of("3"))
+                .build());
+        service.deleteFramework(deleted.getId());
+
+        String materialized = mvc.perform(get("/frameworks/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count", is(2)))
+                .andReturn().getResponse().getContentAsString();
+        String aggregatedByDb = mvc.perform(get("/frameworks/stats").param("minHypeLevel", "0"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(materialized, is(aggregatedByDb));
+    }
+
+    @Test
+    public void givenCurrentEtag_whenGetFrameworkIfNoneMatch_thenNotModified() throws Exception {
+        JSFrameworkDto framework = createFramework("framework", "2022-01-01", 0, List.of("1"));
+        String etag = mvc.perform(get("/frameworks/{id}", framework.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mvc.perform(get("/frameworks/{id}", framework.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    public void givenVersionsEdited_whenGetFrameworkIfNoneMatch_thenReturnFrameworkWithNewEtag() throws Exception {
+        JSFrameworkDto framework = createFramework("framework", "2022-01-01", 0, List.of("1"));
+        String etag = mvc.perform(get("/frameworks/{id}", framework.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        service.editFramework(framework.getId(), JSFrameworkDto.builder()
+                .name("framework")
+                .deprecationDate(LocalDate.parse("2022-01-01"))
+                .hypeLevel(0)
+                .version(List.of("1", "2"))
+                .build());
+
+        mvc.perform(get("/frameworks/{id}", framework.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)))
+                .andExpect(jsonPath("$.version", contains("1", "2")));
+    }
+
+    @Test
+    public void givenStaleEtag_whenEditOrDeleteFrameworkIfMatch_thenPreconditionFailed() throws Exception {
+        JSFrameworkDto framework = createFramework("framework", "2022-01-01", 0, List.of("1"));
+        String etag = mvc.perform(get("/frameworks/{id}", framework.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String edit = "{\"name\": \"framework\", \"version\": [\"2\"], \"deprecationDate\": \"2022-01-01\", \"hypeLevel\": 1}";
+
+        String newEtag = mvc.perform(put("/frameworks/{id}", framework.getId())
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(edit))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mvc.perform(put("/frameworks/{id}", framework.getId())
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(edit))
+                .andExpect(status().isPreconditionFailed());
+        mvc.perform(delete("/frameworks/{id}", framework.getId()).header(HttpHeaders.IF_MATCH, etag))
+                .andExpect(status().isPreconditionFailed());
+        mvc.perform(delete("/frameworks/{id}", framework.getId()).header(HttpHeaders.IF_MATCH, newEtag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void givenMissingFramework_whenEditOrDeleteFrameworkIfMatchAny_thenPreconditionFailed() throws Exception {
+        mvc.perform(put("/frameworks/{id}", 999)
+                        .header(HttpHeaders.IF_MATCH, "*")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"framework\", \"version\": [\"1\"], \"deprecationDate\": \"2022-01-01\", \"hypeLevel\": 1}"))
+                .andExpect(status().isPreconditionFailed());
+        mvc.perform(delete("/frameworks/{id}", 999).header(HttpHeaders.IF_MATCH, "*"))
+                .andExpect(status().isPreconditionFailed());
+        mvc.perform(delete("/frameworks/{id}", 999))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void givenPreferRespondAsync_whenCreateAndEditFramework_thenAcceptedAndWrittenBehind() throws Exception {
+        String created = mvc.perform(post("/frameworks")
+                        .header("Prefer", JavaScriptFrameworkController.RESPOND_ASYNC + ", wait=10")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"framework\", \"version\": [\"1\"], \"deprecationDate\": \"2022-01-01\", \"hypeLevel\": 1}"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Preference-Applied", JavaScriptFrameworkController.RESPOND_ASYNC))
+                .andExpect(jsonPath("$.status", is("PENDING")))
+                .andReturn().getResponse().getHeader(HttpHeaders.LOCATION);
+        Integer id = JsonPath.read(awaitWrite(created), "$.frameworkId");
+        mvc.perform(get(created)).andExpect(jsonPath("$.status", is("CREATED")));
+
+        String edited = mvc.perform(put("/frameworks/{id}", id)
+                        .header("Prefer", "return=minimal, " + JavaScriptFrameworkController.RESPOND_ASYNC)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"edited\", \"version\": [\"2\"], \"deprecationDate\": \"2022-01-01\", \"hypeLevel\": 1}"))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getHeader(HttpHeaders.LOCATION);
+        assertThat(JsonPath.read(awaitWrite(edited), "$.status"), is("UPDATED"));
+        mvc.perform(get("/frameworks/{id}", id)).andExpect(jsonPath("$.name", is("edited")));
+
+        String missing = mvc.perform(put("/frameworks/{id}", 999)
+                        .header("Prefer", JavaScriptFrameworkController.RESPOND_ASYNC)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"edited\", \"version\": [\"2\"], \"deprecationDate\": \"2022-01-01\", \"hypeLevel\": 1}"))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getHeader(HttpHeaders.LOCATION);
+        assertThat(JsonPath.read(awaitWrite(missing), "$.status"), is("NOT_FOUND"));
+        mvc.perform(get("/frameworks/writes/unknown")).andExpect(status().isNotFound());
+
+        mvc.perform(post("/frameworks")
+                        .header("Prefer", "return=minimal, wait=10")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"framework\", \"version\": [\"1\"], \"deprecationDate\": \"2022-01-01\", \"hypeLevel\": 1}"))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist("Preference-Applied"));
+    }
+
+    @Test
+    public void givenConsumer_whenLongPollChanges_thenResyncAndReturnNextChanges() throws Exception {
+        createFramework("framework1", "2022-01-01", 1, List.of("1"));
+        long since = resyncChanges();
+
+        MvcResult poll = mvc.perform(get("/frameworks/changes").param("since", String.valueOf(since)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        JSFrameworkDto created = createFramework("framework2", "2022-01-01", 1, List.of("2"));
+        mvc.perform(asyncDispatch(poll))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes[0].sequence", is(since + 1)))
+                .andExpect(jsonPath("$.changes[0].type", is("CREATED")))
+                .andExpect(jsonPath("$.changes[0].framework.name", is("framework2")))
+                .andExpect(jsonPath("$.next", is(since + 1)));
+
+        service.deleteFramework(created.getId());
+        MvcResult next = mvc.perform(get("/frameworks/changes").param("since", String.valueOf(since + 1)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mvc.perform(asyncDispatch(next))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes", is(iterableWithSize(1))))
+                .andExpect(jsonPath("$.changes[0].type", is("DELETED")))
+                .andExpect(jsonPath("$.changes[0].id", is(created.getId().intValue())))
+                .andExpect(jsonPath("$.changes[0].framework").doesNotExist());
+    }
+
+    @Test
+    public void givenConsumer_whenStreamChanges_thenSendOneEventPerChange() throws Exception {
+        JSFrameworkDto created = createFramework("framework1", "2022-01-01", 1, List.of("1"));
+        // the creation stays in the log, so it is sent before the edit
+        long since = resyncChanges() - 1;
+
+        MvcResult stream = mvc.perform(get("/frameworks/changes")
+                        .param("since", String.valueOf(since))
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        service.editFramework(created.getId(), JSFrameworkDto.builder()
+                .name("edited")
+                .version(List.of("1"))
+                .deprecationDate(LocalDate.parse("2022-01-01"))
+                .hypeLevel(1)
+                .build());
+
+        String events = awaitContent(stream, "event:UPDATED");
+        assertThat(events, containsString("id:" + (since + 1) + "\nevent:CREATED"));
+        assertThat(events, containsString("id:" + (since + 2) + "\nevent:UPDATED"));
+        assertThat(events, containsString("\"name\":\"edited\""));
+
+        MvcResult resync = mvc.perform(get("/frameworks/changes")
+                        .header("Last-Event-ID", "1")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(awaitContent(resync, "event:" + JavaScriptFrameworkController.RESYNC_EVENT),
+                containsString("id:" + (since + 2) + "\nevent:resync"));
+    }
+
+    @Test
+    public void givenPageEtag_whenGetFrameworksIfNoneMatch_thenNotModifiedUntilPageChanges() throws Exception {
+        createFramework("framework1", "2022-01-01", 0, List.of("1"));
+        String etag = mvc.perform(get("/frameworks"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mvc.perform(get("/frameworks").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        createFramework("framework2", "2022-01-01", 0, List.of("1"));
+        mvc.perform(get("/frameworks").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)));
+    }
+
+    /**
+     * Poll the status of an asynchronous write until it is written
+     *
+     * @return last status
+     */
+    private String awaitWrite(String statusUrl) throws Exception {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            String status = mvc.perform(get(statusUrl))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            if (!"PENDING".equals(JsonPath.read(status, "$.status"))) {
+                return status;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("write " + statusUrl + " is still pending");
+    }
+
+    /**
+     * Long-poll changes with an unknown sequence
+     *
+     * @return sequence to continue from after the resync
+     */
+    private long resyncChanges() throws Exception {
+        MvcResult resync = mvc.perform(get("/frameworks/changes").param("since", "0"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String changes = mvc.perform(asyncDispatch(resync))
+                .andExpect(status().isGone())
+                .andExpect(jsonPath("$.resyncRequired", is(true)))
+                .andExpect(jsonPath("$.changes", is(empty())))
+                .andReturn().getResponse().getContentAsString();
+        return JsonPath.<Number>read(changes, "$.next").longValue();
+    }
+
+    /**
+     * Wait until the streamed response contains the text and ends with a complete event,
+     * the emitter writes the fields of an event one by one
+     *
+     * @return streamed content
+     */
+    private String awaitContent(MvcResult stream, String text) throws Exception {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            String content = stream.getResponse().getContentAsString();
+            if (content.contains(text) && content.endsWith("\n\n")) {
+                return content;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("stream does not contain " + text + ": " + stream.getResponse().getContentAsString());
+    }
+
     private JSFrameworkDto createFramework(String name, String deprecationDate, Integer hypeLevel, List<String> version) {
         return service.createFramework(JSFrameworkDto.builder()
                 .name(name)
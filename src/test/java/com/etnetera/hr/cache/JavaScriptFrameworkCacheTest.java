@@ -0,0 +1,75 @@
+package com.etnetera.hr.cache;
+
+import com.etnetera.hr.dto.JSFrameworkDto;
+import com.etnetera.hr.dto.SearchJSFrameworkDto;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class JavaScriptFrameworkCacheTest {
+
+    private final JavaScriptFrameworkCache cache = new JavaScriptFrameworkCache(new FrameworkCacheProperties());
+
+    @Test
+    public void givenWriteBetweenLoadAndPut_whenGetById_thenLoadedFrameworkIsNotCached() {
+        JSFrameworkDto stale = framework(1L, 1);
+        JSFrameworkDto edited = framework(1L, 2);
+
+        Optional<JSFrameworkDto> loaded = cache.getById(1L, () -> {
+            cache.evict(stale, edited);
+            return Optional.of(stale);
+        });
+
+        assertThat(loaded, is(Optional.of(stale)));
+        assertThat(cache.getIfPresent(1L), is(Optional.empty()));
+        assertThat(cache.getById(1L, () -> Optional.of(edited)), is(Optional.of(edited)));
+        assertThat(cache.getIfPresent(1L), is(Optional.of(edited)));
+    }
+
+    @Test
+    public void givenWriteBetweenLoadAndPut_whenGetAllById_thenLoadedFrameworksAreNotCached() {
+        JSFrameworkDto stale = framework(1L, 1);
+        JSFrameworkDto other = framework(2L, 1);
+
+        Map<Long, JSFrameworkDto> loaded = cache.getAllById(List.of(1L, 2L), ids -> {
+            cache.evict(stale, framework(1L, 2));
+            return Map.of(1L, stale, 2L, other);
+        });
+
+        assertThat(loaded, is(Map.of(1L, stale, 2L, other)));
+        assertThat(cache.getIfPresent(1L), is(Optional.empty()));
+        assertThat(cache.getIfPresent(2L), is(Optional.empty()));
+    }
+
+    @Test
+    public void givenWriteBetweenLoadAndPut_whenSearch_thenLoadedResultIsNotCached() {
+        JSFrameworkDto stale = framework(1L, 1);
+        JSFrameworkDto edited = framework(1L, 2);
+        SearchJSFrameworkDto filter = SearchJSFrameworkDto.builder().name("framework").build();
+
+        cache.search(filter, framework -> { }, consumer -> {
+            consumer.accept(stale);
+            cache.evict(stale, edited);
+        });
+
+        List<JSFrameworkDto> found = new ArrayList<>();
+        cache.search(filter, found::add, consumer -> consumer.accept(edited));
+        assertThat(found, contains(edited));
+        assertThat(cache.searchStats().hitCount(), is(0L));
+    }
+
+    private static JSFrameworkDto framework(Long id, int hypeLevel) {
+        return JSFrameworkDto.builder()
+                .id(id)
+                .name("framework")
+                .version(List.of("1.0.0"))
+                .hypeLevel(hypeLevel)
+                .build();
+    }
+}
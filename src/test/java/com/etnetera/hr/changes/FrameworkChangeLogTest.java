@@ -0,0 +1,172 @@
+package com.etnetera.hr.changes;
+
+import com.etnetera.hr.dto.FrameworkChangeDto;
+import com.etnetera.hr.dto.FrameworkChangesDto;
+import com.etnetera.hr.dto.JSFrameworkDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class FrameworkChangeLogTest {
+
+    private FrameworkChangeLog changeLog;
+
+    @Before
+    public void setUp() {
+        FrameworkChangeProperties properties = new FrameworkChangeProperties();
+        properties.setRetention(3);
+        properties.setMaximumChanges(2);
+        changeLog = new FrameworkChangeLog(properties, new SimpleMeterRegistry());
+    }
+
+    @After
+    public void tearDown() {
+        changeLog.stop();
+    }
+
+    @Test
+    public void givenWrites_whenRead_thenReturnChangesInOrder() {
+        long since = changeLog.lastSequence();
+        changeLog.append(null, framework(1L, "created", 0L));
+        changeLog.append(framework(1L, "created", 0L), framework(1L, "edited", 1L));
+        changeLog.append(framework(1L, "edited", 1L), null);
+
+        FrameworkChangesDto first = changeLog.read(since);
+        assertThat(first.isResyncRequired(), is(false));
+        assertThat(first.getChanges().stream().map(FrameworkChangeDto::getType).collect(Collectors.toList()),
+                contains(FrameworkChangeDto.Type.CREATED, FrameworkChangeDto.Type.UPDATED));
+        assertThat(first.getChanges().get(1).getFramework().getName(), is("edited"));
+        assertThat(first.getNext(), is(since + 2));
+
+        FrameworkChangesDto second = changeLog.read(first.getNext());
+        assertThat(second.getChanges(), hasSize(1));
+        assertThat(second.getChanges().get(0).getType(), is(FrameworkChangeDto.Type.DELETED));
+        assertThat(second.getChanges().get(0).getId(), is(1L));
+        assertThat(second.getChanges().get(0).getFramework(), is(nullValue()));
+        assertThat(second.getChanges().get(0).getRevision(), is(2L));
+        assertThat(changeLog.read(second.getNext()).getChanges(), is(empty()));
+    }
+
+    @Test
+    public void givenWritesReportedOutOfOrder_whenAppend_thenDropEarlierRevisions() {
+        long since = changeLog.lastSequence();
+        changeLog.append(framework(1L, "edited", 1L), framework(1L, "edited again", 2L));
+        changeLog.append(framework(1L, "created", 0L), framework(1L, "edited", 1L));
+        changeLog.append(framework(2L, "created", 0L), null);
+        changeLog.append(null, framework(2L, "created", 0L));
+
+        FrameworkChangesDto changes = changeLog.read(since);
+        assertThat(changes.getChanges().stream().map(FrameworkChangeDto::getRevision).collect(Collectors.toList()),
+                contains(2L, 1L));
+        assertThat(changes.getChanges().get(0).getFramework().getName(), is("edited again"));
+        assertThat(changes.getChanges().get(1).getType(), is(FrameworkChangeDto.Type.DELETED));
+        assertThat(changeLog.lastSequence(), is(since + 2));
+    }
+
+    @Test
+    public void givenConsumerBehindRetention_whenRead_thenResyncRequired() {
+        long since = changeLog.lastSequence();
+        for (long id = 1; id <= 4; id++) {
+            changeLog.append(null, framework(id, "framework" + id));
+        }
+
+        FrameworkChangesDto behind = changeLog.read(since);
+        assertThat(behind.isResyncRequired(), is(true));
+        assertThat(behind.getNext(), is(changeLog.lastSequence()));
+        assertThat(changeLog.read(since + 1).isResyncRequired(), is(false));
+        assertThat(changeLog.read(0L).isResyncRequired(), is(true));
+        assertThat(changeLog.read(changeLog.lastSequence() + 1).isResyncRequired(), is(true));
+    }
+
+    @Test
+    public void givenNoChange_whenAwait_thenCompleteOnWriteOrTimeout() throws Exception {
+        long since = changeLog.lastSequence();
+        CompletableFuture<FrameworkChangesDto> changed = changeLog.await(since, Duration.ofSeconds(10));
+        assertThat(changed.isDone(), is(false));
+
+        changeLog.append(null, framework(1L, "created"));
+        assertThat(changed.get(5, TimeUnit.SECONDS).getChanges(), hasSize(1));
+
+        FrameworkChangesDto timedOut = changeLog.await(changeLog.lastSequence(), Duration.ofMillis(50)).get(5, TimeUnit.SECONDS);
+        assertThat(timedOut.getChanges(), is(empty()));
+        assertThat(timedOut.getNext(), is(since + 1));
+    }
+
+    @Test
+    public void givenSubscription_whenWrites_thenPassRetainedAndNewChanges() throws Exception {
+        long since = changeLog.lastSequence();
+        changeLog.append(null, framework(1L, "retained"));
+        BlockingQueue<FrameworkChangesDto> received = new LinkedBlockingQueue<>();
+        Runnable unsubscribe = changeLog.subscribe(since, received::add);
+
+        assertThat(received.poll(5, TimeUnit.SECONDS).getChanges().get(0).getFramework().getName(), is("retained"));
+        changeLog.append(null, framework(2L, "new"));
+        assertThat(received.poll(5, TimeUnit.SECONDS).getChanges().get(0).getFramework().getName(), is("new"));
+
+        unsubscribe.run();
+        changeLog.append(null, framework(3L, "unsubscribed"));
+        assertThat(received.poll(200, TimeUnit.MILLISECONDS), is(nullValue()));
+    }
+
+    @Test
+    public void givenSlowSubscriber_whenWrites_thenOthersReceiveChangesAndSlowOneResyncs() throws Exception {
+        FrameworkChangeProperties properties = new FrameworkChangeProperties();
+        properties.setMaximumChanges(1);
+        properties.setSubscriberQueueSize(2);
+        FrameworkChangeLog changeLog = new FrameworkChangeLog(properties, new SimpleMeterRegistry());
+        try {
+            CountDownLatch stalled = new CountDownLatch(1);
+            BlockingQueue<FrameworkChangesDto> slow = new LinkedBlockingQueue<>();
+            changeLog.subscribe(null, changes -> {
+                slow.add(changes);
+                awaitUninterruptibly(stalled);
+            });
+            BlockingQueue<FrameworkChangesDto> fast = new LinkedBlockingQueue<>();
+            changeLog.subscribe(null, fast::add);
+
+            changeLog.append(null, framework(1L, "framework1"));
+            assertThat(slow.poll(5, TimeUnit.SECONDS).getChanges().get(0).getId(), is(1L));
+            assertThat(fast.poll(5, TimeUnit.SECONDS).getChanges().get(0).getId(), is(1L));
+            for (long id = 2; id <= 4; id++) {
+                changeLog.append(null, framework(id, "framework" + id));
+                assertThat(fast.poll(5, TimeUnit.SECONDS).getChanges().get(0).getId(), is(id));
+            }
+            stalled.countDown();
+
+            FrameworkChangesDto resync = slow.poll(5, TimeUnit.SECONDS);
+            assertThat(resync.isResyncRequired(), is(true));
+            assertThat(resync.getNext(), is(changeLog.lastSequence()));
+            assertThat(slow.poll(200, TimeUnit.MILLISECONDS), is(nullValue()));
+        } finally {
+            changeLog.stop();
+        }
+    }
+
+    private static void awaitUninterruptibly(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static JSFrameworkDto framework(final Long id, final String name) {
+        return framework(id, name, 0L);
+    }
+
+    private static JSFrameworkDto framework(final Long id, final String name, final Long revision) {
+        return JSFrameworkDto.builder().id(id).name(name).revision(revision).build();
+    }
+}
@@ -0,0 +1,60 @@
+package com.etnetera.hr.importer;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class CsvRowReaderTest {
+
+    @Test
+    public void givenQuotedValues_whenNext_thenKeepCommasQuotesAndLineBreaks() throws IOException {
+        CsvRowReader reader = reader("\uFEFFhypeLevel,name,deprecationDate,version,comment\n" +
+                "10,\"framework, \"\"one\"\"\",2022-01-01,\"1;2\",\"first\nsecond\"\n" +
+                "20,framework2,2023-01-01,3,\n");
+
+        ImportRow first = reader.next();
+        assertThat(first.getLine(), is(2L));
+        assertThat(first.getError(), is(nullValue()));
+        assertThat(first.getFramework().getName(), is("framework, \"one\""));
+        assertThat(first.getFramework().getVersion(), is(List.of("1", "2")));
+        assertThat(first.getFramework().getDeprecationDate(), is(LocalDate.parse("2022-01-01")));
+        assertThat(first.getFramework().getHypeLevel(), is(10));
+
+        ImportRow second = reader.next();
+        assertThat(second.getLine(), is(4L));
+        assertThat(second.getFramework().getName(), is("framework2"));
+        assertThat(reader.next(), is(nullValue()));
+    }
+
+    @Test
+    public void givenInvalidRows_whenNext_thenRejectThemAndContinue() throws IOException {
+        CsvRowReader reader = reader("name,version,deprecationDate,hypeLevel\r\n" +
+                "framework1,1,2022-01-01\r\n" +
+                "framework2,1,2022-01-01,high\r\n" +
+                "framework3,1,2022-01-01," + "1".repeat(100) + "\r\n" +
+                "framework4,1,2022-01-01,4\r\n" +
+                "\"framework5,1,2022-01-01,5\r\n");
+
+        assertThat(reader.next().getError(), is("row has 3 columns, the header has 4"));
+        assertThat(reader.next().getError(), is("hypeLevel is not an integer"));
+        assertThat(reader.next().getError(), is("row is longer than 64 characters"));
+        assertThat(reader.next().getFramework().getName(), is("framework4"));
+        assertThat(reader.next().getError(), is("quoted value is not closed"));
+        assertThat(reader.next(), is(nullValue()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void givenHeaderWithoutColumn_whenCreate_thenThrow() throws IOException {
+        reader("name,version,hypeLevel\nframework1,1,1\n");
+    }
+
+    private static CsvRowReader reader(String csv) throws IOException {
+        return new CsvRowReader(new StringReader(csv), 64);
+    }
+}
@@ -0,0 +1,115 @@
+package com.etnetera.hr.lookup;
+
+import com.etnetera.hr.dto.JSFrameworkDto;
+import com.etnetera.hr.service.JavaScriptFrameworkService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Verifies that concurrent lookups of single frameworks are answered by batched queries.
+ *
+ * @author Etnetera
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = {
+        "frameworks.cache.enabled=false",
+        "frameworks.lookup.coalescing=true",
+        "frameworks.lookup.window=500ms",
+        "frameworks.lookup.maximum-batch-size=5"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class FrameworkLookupCoalescerTest {
+
+    @Autowired
+    private JavaScriptFrameworkService service;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void givenConcurrentLookups_whenWithinWindow_thenOneBatch() throws Exception {
+        List<Long> ids = seed(3);
+        List<Long> lookedUp = List.of(ids.get(0), ids.get(1), ids.get(2), ids.get(0), 999L);
+
+        List<Optional<JSFrameworkDto>> found = getConcurrently(lookedUp);
+
+        assertThat(found.get(0).orElseThrow().getName(), is("framework0"));
+        assertThat(found.get(2).orElseThrow().getVersion(), contains("1", "2"));
+        assertThat(found.get(3), is(found.get(0)));
+        assertThat(found.get(4).isPresent(), is(false));
+        assertThat(batches().count(), is(1L));
+        assertThat(batches().totalAmount(), is(4.0));
+    }
+
+    @Test
+    public void givenConcurrentLookups_whenMoreThanMaximumBatchSize_thenSeveralBatches() throws Exception {
+        List<Long> ids = seed(12);
+
+        List<Optional<JSFrameworkDto>> found = getConcurrently(ids);
+
+        assertThat(found.stream().allMatch(Optional::isPresent), is(true));
+        assertThat(batches().count(), is(greaterThanOrEqualTo(3L)));
+        assertThat(batches().max(), is(lessThanOrEqualTo(5.0)));
+        assertThat(batches().totalAmount(), is(12.0));
+    }
+
+    private List<Optional<JSFrameworkDto>> getConcurrently(List<Long> ids) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Optional<JSFrameworkDto>>> lookups = new ArrayList<>();
+        for (Long id : ids) {
+            lookups.add(executor.submit(() -> {
+                start.await();
+                return service.getFrameworkById(id);
+            }));
+        }
+        start.countDown();
+        List<Optional<JSFrameworkDto>> found = new ArrayList<>();
+        for (Future<Optional<JSFrameworkDto>> lookup : lookups) {
+            found.add(lookup.get());
+        }
+        return found;
+    }
+
+    private DistributionSummary batches() {
+        return meterRegistry.get("frameworks.lookup.batch").summary();
+    }
+
+    private List<Long> seed(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> service.createFramework(JSFrameworkDto.builder()
+                        .name("framework" + i)
+                        .version(List.of("1", "2"))
+                        .deprecationDate(LocalDate.parse("2022-01-01"))
+                        .hypeLevel(i)
+                        .build()).getId())
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,90 @@
+package com.etnetera.hr.metrics;
+
+import com.etnetera.hr.dto.JSFrameworkDto;
+import com.etnetera.hr.service.JavaScriptFrameworkService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that service calls, repository queries, SQL statements and search sizes are measured
+ * and published by the prometheus endpoint.
+ *
+ * @author Etnetera
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = "frameworks.cache.enabled=false")
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class MetricsTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private JavaScriptFrameworkService service;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void givenFrameworks_whenSearchFrameworks_thenSearchIsMeasured() throws Exception {
+        createFramework("framework1");
+        createFramework("framework2");
+
+        mvc.perform(get("/frameworks/search").param("version", "1.0.0")).andExpect(status().isOk());
+
+        assertThat(meterRegistry.get("frameworks.search.results").summary().totalAmount(), is(2.0));
+        assertThat(meterRegistry.get(MethodTimingPostProcessor.SERVICE_METRIC)
+                .tag("class", "JavaScriptFrameworkService")
+                .tag("method", "searchFrameworks")
+                .timer().count(), is(1L));
+        assertThat(meterRegistry.get(MethodTimingPostProcessor.REPOSITORY_METRIC)
+                .tag("class", "JavaScriptFrameworkRepository")
+                .tag("method", "streamDtos")
+                .timer().count(), is(1L));
+        assertThat(meterRegistry.get(StatementCountFilter.METRIC)
+                .tag("uri", "/frameworks/search")
+                .summary().totalAmount(), is(1.0));
+    }
+
+    @Test
+    public void givenRequests_whenGetPrometheus_thenMetricsArePublished() throws Exception {
+        createFramework("framework1");
+        mvc.perform(get("/frameworks/" + service.getAllFrameworks().get(0).getId())).andExpect(status().isOk());
+
+        mvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(allOf(
+                        containsString("http_server_requests_seconds_bucket{"),
+                        containsString("http_server_requests_seconds{exception=\"None\",method=\"GET\",outcome=\"SUCCESS\",status=\"200\",uri=\"/frameworks/{id}\",quantile=\"0.99\",}"),
+                        containsString("frameworks_repository_seconds_count{class=\"JavaScriptFrameworkRepository\",exception=\"none\",method=\"findDtoById\",}"),
+                        containsString("frameworks_sql_statements_count{method=\"GET\",uri=\"/frameworks/{id}\",} 1.0"),
+                        containsString("hikaricp_connections_active")
+                )));
+    }
+
+    private void createFramework(final String name) {
+        service.createFramework(JSFrameworkDto.builder()
+                .name(name)
+                .version(List.of("1.0.0"))
+                .deprecationDate(LocalDate.parse("2022-01-01"))
+                .hypeLevel(10)
+                .build());
+    }
+}
@@ -0,0 +1,37 @@
+package com.etnetera.hr.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.stream.Stream;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TimingInterceptorTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void givenStreamResult_whenInvoke_thenRecordWhenClosed() throws Throwable {
+        ObjectProvider<MeterRegistry> provider = mock(ObjectProvider.class);
+        when(provider.getObject()).thenReturn(meterRegistry);
+        MethodInvocation invocation = mock(MethodInvocation.class);
+        when(invocation.getMethod()).thenReturn(Object.class.getMethod("toString"));
+        when(invocation.proceed()).thenReturn(Stream.of(1, 2));
+
+        Stream<Integer> result = (Stream<Integer>) new TimingInterceptor(provider, "calls", "Test", null).invoke(invocation);
+        assertThat(meterRegistry.find("calls").timer(), is(nullValue()));
+
+        try (Stream<Integer> stream = result) {
+            assertThat(stream.count(), is(2L));
+        }
+        assertThat(meterRegistry.get("calls").tag("method", "toString").timer().count(), is(1L));
+    }
+}
@@ -0,0 +1,141 @@
+package com.etnetera.hr.repository;
+
+import com.etnetera.hr.dto.JSFrameworkDto;
+import com.etnetera.hr.dto.SearchJSFrameworkDto;
+import com.etnetera.hr.dto.VersionRange;
+import com.etnetera.hr.service.JavaScriptFrameworkService;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Runs EXPLAIN for the search query of every filter combination and checks that no table is fully scanned.
+ * H2 prints an index lookup as {@code /* PUBLIC.INDEX: condition *}{@code /}, while a scan of the whole table
+ * or of a whole index lacks the condition. Plans of subqueries use {@code /++ ++/} instead of comments.
+ *
+ * @author Etnetera
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.etnetera.hr.repository.RecordingStatementInspector",
+        "frameworks.cache.enabled=false"
+})
+public class JavaScriptFrameworkQueryPlanTest {
+
+    private static final int FILTER_COUNT = 8;
+
+    private static final int LATEST_VERSION = 128;
+
+    private static final Pattern FULL_SCAN = Pattern.compile("/(\\*|\\+\\+) PUBLIC\\.[\\w.]+ (\\*|\\+\\+)/");
+
+    @Autowired
+    private JavaScriptFrameworkService service;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void givenAnyFilter_whenSearchFrameworks_thenQueryUsesIndex() {
+        // the name index has to find a framework, otherwise the search does not reach the database
+        service.createFramework(JSFrameworkDto.builder()
+                .name("script")
+                .version(List.of("1.0.0"))
+                .deprecationDate(LocalDate.parse("2022-06-01"))
+                .hypeLevel(5)
+                .build());
+
+        for (int combination = 1; combination < 1 << FILTER_COUNT; combination++) {
+            if (combination == LATEST_VERSION) {
+                // restricts the other version filters only, on its own it is no filter
+                continue;
+            }
+            SearchJSFrameworkDto filter = filter(combination);
+            String plan = explain(searchQuery(filter), filter);
+            assertThat("full scan for filter combination " + combination + " in " + plan, isFullScan(plan), is(false));
+        }
+    }
+
+    private static boolean isFullScan(String plan) {
+        return FULL_SCAN.matcher(plan).find();
+    }
+
+    private static SearchJSFrameworkDto filter(int combination) {
+        return SearchJSFrameworkDto.builder()
+                .name((combination & 1) != 0 ? "script" : null)
+                .version((combination & 2) != 0 ? List.of("1.0.0", "2.0.0") : null)
+                .deprecationDateAfter((combination & 4) != 0 ? LocalDate.parse("2022-01-01") : null)
+                .deprecationDateBefore((combination & 8) != 0 ? LocalDate.parse("2023-01-01") : null)
+                .minHypeLevel((combination & 16) != 0 ? 3 : null)
+                .maxHypeLevel((combination & 32) != 0 ? 7 : null)
+                .versionRange((combination & 64) != 0 ? VersionRange.valueOf(">=1.0 <2") : null)
+                .latestVersion((combination & LATEST_VERSION) != 0 ? true : null)
+                .build();
+    }
+
+    private String searchQuery(SearchJSFrameworkDto filter) {
+        RecordingStatementInspector.clear();
+        service.searchFrameworks(filter, framework -> {
+        });
+        List<String> statements = RecordingStatementInspector.statements();
+        assertThat(statements, hasSize(1));
+        return statements.get(0);
+    }
+
+    /**
+     * Explain the query with the filter values bound in the order the specification adds them.
+     * The name is bound only if it was not resolved to ids by the name index.
+     */
+    private String explain(String sql, SearchJSFrameworkDto filter) {
+        Deque<Object> strings = new ArrayDeque<>();
+        Deque<Object> dates = new ArrayDeque<>();
+        Deque<Object> numbers = new ArrayDeque<>();
+        if (sql.contains(" like ")) {
+            strings.add("%" + filter.getName() + "%");
+        }
+        Optional.ofNullable(filter.getVersion()).ifPresent(strings::addAll);
+        Optional.ofNullable(filter.getDeprecationDateAfter()).ifPresent(dates::add);
+        Optional.ofNullable(filter.getDeprecationDateBefore()).ifPresent(dates::add);
+        Optional.ofNullable(filter.getMinHypeLevel()).ifPresent(numbers::add);
+        Optional.ofNullable(filter.getMaxHypeLevel()).ifPresent(numbers::add);
+
+        return jdbcTemplate.execute("explain " + sql, (PreparedStatement statement) -> {
+            ParameterMetaData parameters = statement.getParameterMetaData();
+            for (int i = 1; i <= parameters.getParameterCount(); i++) {
+                switch (parameters.getParameterType(i)) {
+                    case Types.DATE:
+                        statement.setObject(i, dates.remove());
+                        break;
+                    case Types.INTEGER:
+                        statement.setObject(i, numbers.remove());
+                        break;
+                    default:
+                        statement.setObject(i, strings.remove());
+                }
+            }
+            try (ResultSet plan = statement.executeQuery()) {
+                StringBuilder result = new StringBuilder();
+                while (plan.next()) {
+                    result.append(plan.getString(1));
+                }
+                return result.toString();
+            }
+        });
+    }
+}
@@ -0,0 +1,252 @@
+package com.etnetera.hr.repository;
+
+import com.etnetera.hr.data.JavaScriptFramework;
+import com.etnetera.hr.dto.BulkItemResultDto;
+import com.etnetera.hr.dto.FrameworkFields;
+import com.etnetera.hr.dto.FrameworkPageDto;
+import com.etnetera.hr.dto.JSFrameworkDto;
+import com.etnetera.hr.dto.SearchJSFrameworkDto;
+import com.etnetera.hr.dto.FrameworkStatsDto;
+import com.etnetera.hr.service.JavaScriptFrameworkService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Verifies that reading frameworks issues a constant number of statements, whatever the number of rows,
+ * that reads are projections not loading entities and that cached entities and queries issue no statement.
+ *
+ * @author Etnetera
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "frameworks.cache.enabled=false"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class JavaScriptFrameworkRepositoryTest {
+
+    @Autowired
+    private JavaScriptFrameworkRepository repository;
+
+    @Autowired
+    private JavaScriptFrameworkService service;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+
+    @Before
+    public void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    public void givenManyFrameworks_whenSearchFrameworks_thenStatementCountDoesNotGrow() {
+        seed(10);
+        long smallSearch = countStatements(() -> search(List.of("1", "2")));
+        seed(990);
+        long largeSearch = countStatements(() -> assertThat(search(List.of("1", "2")), hasSize(1000)));
+
+        assertThat(largeSearch, is(smallSearch));
+        assertThat(largeSearch, is(1L));
+    }
+
+    @Test
+    public void givenManyFrameworks_whenGetAllFrameworks_thenSingleStatement() {
+        seed(1000);
+        assertThat(countStatements(() -> assertThat(service.getAllFrameworks(), hasSize(1000))), is(1L));
+    }
+
+    @Test
+    public void givenFramework_whenGetFrameworkById_thenSingleStatement() {
+        Long id = seed(1).get(0).getId();
+        assertThat(countStatements(() -> assertThat(service.getFrameworkById(id).isPresent(), is(true))), is(1L));
+    }
+
+    @Test
+    public void givenManyFrameworks_whenGetFrameworksByIds_thenSingleStatement() {
+        List<Long> ids = seed(1000).stream().map(JavaScriptFramework::getId).collect(Collectors.toList());
+        Collections.reverse(ids);
+        List<JSFrameworkDto> found = new ArrayList<>();
+        assertThat(countStatements(() -> found.addAll(service.getFrameworksByIds(ids).getFrameworks())), is(1L));
+        assertThat(found.stream().map(JSFrameworkDto::getId).collect(Collectors.toList()), is(ids));
+        assertThat(found.get(0).getVersion(), contains("1", "2"));
+    }
+
+    @Test
+    public void givenUnchangedFrameworks_whenUpsertFrameworks_thenOnlyContentHashesAreRead() {
+        List<JSFrameworkDto> frameworks = seed(100).stream()
+                .map(entity -> JSFrameworkDto.builder()
+                        .name(entity.getName())
+                        .version(List.of("2", "1"))
+                        .deprecationDate(entity.getDeprecationDate())
+                        .hypeLevel(entity.getHypeLevel())
+                        .build())
+                .collect(Collectors.toList());
+        statistics.clear();
+
+        assertThat(service.upsertFrameworks(frameworks).stream().map(BulkItemResultDto::getStatus).collect(Collectors.toSet()),
+                contains(BulkItemResultDto.Status.UNCHANGED));
+        assertThat(statistics.getPrepareStatementCount(), is(1L));
+        assertThat(statistics.getEntityLoadCount(), is(0L));
+        assertThat(statistics.getEntityUpdateCount(), is(0L));
+    }
+
+    @Test
+    public void givenFrameworks_whenReadFrameworks_thenNoEntityIsLoaded() {
+        Long id = seed(100).get(0).getId();
+        statistics.clear();
+
+        service.getFrameworkById(id);
+        service.getFrameworks(new FrameworkPageDto(null, 10));
+        service.getAllFrameworks();
+        search(List.of("1"));
+
+        assertThat(statistics.getEntityLoadCount(), is(0L));
+        assertThat(statistics.getCollectionLoadCount(), is(0L));
+    }
+
+    @Test
+    public void givenManyFrameworks_whenGetFrameworksPage_thenIdsAndRowsAreTwoStatements() {
+        seed(1000);
+        FrameworkPageDto page = new FrameworkPageDto(null, 100);
+        assertThat(countStatements(() -> assertThat(service.getFrameworks(page), hasSize(100))), is(2L));
+    }
+
+    @Test
+    public void givenFieldsWithoutVersion_whenSearchFrameworks_thenVersionsAreNotJoined() {
+        seed(100);
+        List<JSFrameworkDto> found = new ArrayList<>();
+        statistics.clear();
+        service.searchFrameworks(SearchJSFrameworkDto.builder()
+                .minHypeLevel(5)
+                .fields(FrameworkFields.valueOf("name"))
+                .build(), found::add);
+
+        assertThat(found, hasSize(50));
+        assertThat(found.get(0).getName(), is(notNullValue()));
+        assertThat(found.get(0).getVersion(), is(nullValue()));
+        assertThat(statistics.getQueries(), arrayWithSize(1));
+        assertThat(statistics.getQueries()[0], not(containsString("version")));
+    }
+
+    @Test
+    public void givenManyFrameworks_whenStreamAllFrameworks_thenSingleStatement() {
+        seed(1000);
+        List<JSFrameworkDto> streamed = new ArrayList<>();
+        assertThat(countStatements(() -> service.streamAllFrameworks(streamed::add)), is(1L));
+        assertThat(streamed, hasSize(1000));
+        assertThat(streamed.get(0).getVersion(), contains("1", "2"));
+    }
+
+    @Test
+    public void givenManyFrameworks_whenCreateFrameworks_thenInsertsAreBatched() {
+        List<JSFrameworkDto> frameworks = IntStream.range(0, 1000)
+                .mapToObj(i -> JSFrameworkDto.builder()
+                        .name("framework" + i)
+                        .version(List.of("1", "2"))
+                        .deprecationDate(LocalDate.parse("2022-01-01"))
+                        .hypeLevel(i % 10)
+                        .build())
+                .collect(Collectors.toList());
+
+        long statements = countStatements(() -> service.createFrameworks(frameworks));
+
+        assertThat(repository.count(), is(1000L));
+        // 20 id blocks and 20 batches of each insert, anything close to 1000 means no batching
+        assertThat(statements, is(lessThanOrEqualTo(60L)));
+    }
+
+    @Test
+    public void givenCachedFramework_whenFindById_thenNoStatement() {
+        Long id = seed(1).get(0).getId();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        Runnable findById = () -> transaction.execute(status -> {
+            assertThat(repository.findById(id).orElseThrow().getVersion(), contains("1", "2"));
+            return null;
+        });
+        findById.run();
+
+        assertThat(countStatements(findById), is(0L));
+        assertThat(countStatements(findById), is(0L));
+        assertThat(meterRegistry.get("cache.gets")
+                .tag("cache", JavaScriptFramework.CACHE_REGION)
+                .tag("result", "hit")
+                .functionCounter().count(), is(greaterThanOrEqualTo(2.0)));
+    }
+
+    @Test
+    public void givenCachedQueries_whenFrameworkEdited_thenEditedStateIsCachedAgain() {
+        Long id = seed(10).get(0).getId();
+        SearchJSFrameworkDto filter = SearchJSFrameworkDto.builder().minHypeLevel(5).build();
+        service.getFrameworkById(id);
+        FrameworkStatsDto stats = service.getStats(filter);
+
+        assertThat(countStatements(() -> service.getFrameworkById(id)), is(0L));
+        assertThat(countStatements(() -> assertThat(service.getStats(filter), is(stats))), is(0L));
+
+        service.editFramework(id, JSFrameworkDto.builder()
+                .name("framework0")
+                .version(List.of("1", "2"))
+                .deprecationDate(LocalDate.parse("2022-01-01"))
+                .hypeLevel(9)
+                .build());
+
+        assertThat(service.getFrameworkById(id).orElseThrow().getHypeLevel(), is(9));
+        assertThat(service.getStats(filter).getCount(), is(stats.getCount() + 1));
+        assertThat(countStatements(() -> assertThat(service.getFrameworkById(id).orElseThrow().getHypeLevel(), is(9))), is(0L));
+        assertThat(countStatements(() -> assertThat(service.getStats(filter).getCount(), is(stats.getCount() + 1))), is(0L));
+    }
+
+    private List<JSFrameworkDto> search(List<String> version) {
+        List<JSFrameworkDto> found = new ArrayList<>();
+        service.searchFrameworks(SearchJSFrameworkDto.builder().version(version).build(), found::add);
+        return found;
+    }
+
+    private long countStatements(Runnable action) {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private List<JavaScriptFramework> seed(int count) {
+        return repository.saveAll(IntStream.range(0, count)
+                .mapToObj(i -> JavaScriptFramework.builder()
+                        .name("framework" + i)
+                        .version(List.of("1", "2"))
+                        .deprecationDate(LocalDate.parse("2022-01-01").plusDays(i))
+                        .hypeLevel(i % 10)
+                        .build())
+                .collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,178 @@
+package com.etnetera.hr.search;
+
+import com.etnetera.hr.dto.EditJSFrameworkDto;
+import com.etnetera.hr.dto.FrameworkFields;
+import com.etnetera.hr.dto.FrameworkSort;
+import com.etnetera.hr.dto.JSFrameworkDto;
+import com.etnetera.hr.dto.SearchJSFrameworkDto;
+import com.etnetera.hr.dto.VersionRange;
+import com.etnetera.hr.repository.JavaScriptFrameworkRepository;
+import com.etnetera.hr.repository.JavaScriptFrameworkSpecification;
+import com.etnetera.hr.service.JavaScriptFrameworkService;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Differential test of {@link ColumnarFrameworkIndex} against {@link JavaScriptFrameworkSpecification}: random
+ * filters over random frameworks, written through the service, have to find the same frameworks in the same order.
+ *
+ * @author Etnetera
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = {
+        "frameworks.columnar-index.enabled=true",
+        "frameworks.cache.enabled=false",
+        // common names are left by the name index to the columnar index
+        "frameworks.name-index.maximum-matches=20"
+})
+@DirtiesContext
+public class ColumnarFrameworkIndexTest {
+
+    private static final String NAME_CHARACTERS = "abAB- ";
+
+    private static final List<String> VERSIONS = List.of("1", "1.0", "1.2.3", "2", "2.0.1", "v3.1", "10.0", "0.9.9", "beta", "1.x");
+
+    private static final List<String> RANGES = List.of(">=1 <2", ">1.0.0", "<=2", "=1.2.3", "2", ">v3", ">=0.9 <=1.2.3");
+
+    private static final List<String> SORTS = List.of("name", "-name", "-hypeLevel,name", "deprecationDate,-id", "hypeLevel,-deprecationDate", "-id");
+
+    private static final List<String> FIELDS = List.of("name", "version,hypeLevel", "revision,lastModified", "deprecationDate");
+
+    private static final LocalDate FIRST_DEPRECATION = LocalDate.parse("2020-01-01");
+
+    private final Random random = new Random(42);
+
+    @Autowired
+    private JavaScriptFrameworkService service;
+
+    @Autowired
+    private JavaScriptFrameworkRepository repository;
+
+    @Autowired
+    private ColumnarFrameworkIndex index;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    public void givenRandomWrites_whenSearchRandomFilters_thenFindSameFrameworksAsDatabase() {
+        List<JSFrameworkDto> created = Stream.generate(this::randomFramework).limit(300).collect(Collectors.toList());
+        service.createFrameworks(created);
+        for (int i = 0; i < 20; i++) {
+            service.createFramework(randomFramework());
+        }
+        List<Long> ids = service.getAllFrameworks().stream().map(JSFrameworkDto::getId).collect(Collectors.toList());
+        List<EditJSFrameworkDto> edits = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            edits.add(EditJSFrameworkDto.builder().id(ids.get(random.nextInt(ids.size()))).framework(randomFramework()).build());
+        }
+        service.editFrameworks(edits);
+        for (int i = 0; i < 20; i++) {
+            service.editFramework(ids.get(random.nextInt(ids.size())), randomFramework());
+        }
+        service.deleteFrameworks(ids.subList(0, 30));
+        service.deleteFramework(ids.get(ids.size() - 1));
+        assertThat(index.size(), is(ids.size() - 31));
+
+        for (int i = 0; i < 500; i++) {
+            SearchJSFrameworkDto filter = randomFilter();
+            List<JSFrameworkDto> expected = findInDatabase(filter);
+            assertThat(filter.toString(), index.search(filter), is(Optional.of(expected)));
+        }
+    }
+
+    @Test
+    public void givenNameWithWildcard_whenSearch_thenLeaveToDatabase() {
+        assertThat(index.search(SearchJSFrameworkDto.builder().name("a_b").build()), is(Optional.empty()));
+    }
+
+    private List<JSFrameworkDto> findInDatabase(final SearchJSFrameworkDto filter) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        return transaction.execute(status -> {
+            try (Stream<JSFrameworkDto> found = repository.streamDtos(new JavaScriptFrameworkSpecification(filter))) {
+                return found.collect(Collectors.toList());
+            }
+        });
+    }
+
+    private JSFrameworkDto randomFramework() {
+        List<String> versions = new ArrayList<>();
+        for (int i = 1 + random.nextInt(3); i > 0; i--) {
+            versions.add(pick(VERSIONS));
+        }
+        return JSFrameworkDto.builder()
+                .name(randomName(1 + random.nextInt(6)))
+                .version(versions)
+                .deprecationDate(FIRST_DEPRECATION.plusDays(random.nextInt(100)))
+                .hypeLevel(random.nextInt(11))
+                .build();
+    }
+
+    private SearchJSFrameworkDto randomFilter() {
+        SearchJSFrameworkDto.SearchJSFrameworkDtoBuilder filter = SearchJSFrameworkDto.builder();
+        if (random.nextInt(3) == 0) {
+            filter.name(randomName(1 + random.nextInt(2)))
+                    .nameIgnoreCase(random.nextBoolean())
+                    .namePrefixFirst(random.nextBoolean());
+        }
+        if (random.nextInt(3) == 0) {
+            filter.version(List.of(pick(VERSIONS), random.nextBoolean() ? pick(VERSIONS) : "missing"));
+        }
+        if (random.nextInt(3) == 0) {
+            filter.versionRange(VersionRange.valueOf(pick(RANGES)));
+        }
+        if (random.nextBoolean()) {
+            filter.latestVersion(true);
+        }
+        if (random.nextInt(3) == 0) {
+            filter.deprecationDateAfter(FIRST_DEPRECATION.plusDays(random.nextInt(100)));
+        }
+        if (random.nextInt(3) == 0) {
+            filter.deprecationDateBefore(FIRST_DEPRECATION.plusDays(random.nextInt(100)));
+        }
+        if (random.nextInt(3) == 0) {
+            filter.minHypeLevel(random.nextInt(11));
+        }
+        if (random.nextInt(3) == 0) {
+            filter.maxHypeLevel(random.nextInt(11));
+        }
+        if (random.nextBoolean()) {
+            filter.sort(FrameworkSort.valueOf(pick(SORTS)));
+        }
+        if (random.nextInt(3) == 0) {
+            filter.fields(FrameworkFields.valueOf(pick(FIELDS)));
+        }
+        return filter.build();
+    }
+
+    private String randomName(final int length) {
+        // not blank, names are validated
+        StringBuilder name = new StringBuilder().append(NAME_CHARACTERS.charAt(random.nextInt(NAME_CHARACTERS.length() - 1)));
+        for (int i = 1; i < length; i++) {
+            name.append(NAME_CHARACTERS.charAt(random.nextInt(NAME_CHARACTERS.length())));
+        }
+        return name.toString();
+    }
+
+    private <T> T pick(final List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+}
@@ -0,0 +1,91 @@
+package com.etnetera.hr.search;
+
+import com.etnetera.hr.repository.JavaScriptFrameworkRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class FrameworkNameIndexTest {
+
+    private FrameworkNameIndexProperties properties;
+
+    private FrameworkNameIndex index;
+
+    @Before
+    public void setUp() {
+        JavaScriptFrameworkRepository repository = mock(JavaScriptFrameworkRepository.class);
+        when(repository.streamAllNames()).thenReturn(Stream.empty());
+        properties = new FrameworkNameIndexProperties();
+        index = new FrameworkNameIndex(repository, mock(PlatformTransactionManager.class), properties);
+        index.load();
+    }
+
+    @Test
+    public void givenNames_whenFind_thenReturnContainingNames() {
+        index.put(1L, "framework");
+        index.put(2L, "framework script");
+        index.put(3L, "script");
+        index.put(4L, "totally random name");
+
+        assertThat(index.find("script", false), is(Optional.of(List.of(2L, 3L))));
+        assertThat(index.find("Script", false), is(Optional.of(List.of())));
+        assertThat(index.find("Script", true), is(Optional.of(List.of(2L, 3L))));
+        assertThat(index.find("cript", false), is(Optional.of(List.of(2L, 3L))));
+        assertThat(index.find("xyz", false), is(Optional.of(List.of())));
+    }
+
+    @Test
+    public void givenShortName_whenFind_thenReturnContainingNames() {
+        index.put(1L, "ab");
+        index.put(2L, "xab");
+        index.put(3L, "xy");
+
+        assertThat(index.find("ab", false), is(Optional.of(List.of(1L, 2L))));
+        assertThat(index.find("y", false), is(Optional.of(List.of(3L))));
+    }
+
+    @Test
+    public void givenRenamedAndRemovedNames_whenFind_thenIgnoreOldNames() {
+        index.put(1L, "angular");
+        index.put(2L, "angularjs");
+        index.put(1L, "react");
+        index.remove(2L);
+
+        assertThat(index.find("angular", false), is(Optional.of(List.of())));
+        assertThat(index.find("react", false), is(Optional.of(List.of(1L))));
+        assertThat(index.size(), is(1));
+    }
+
+    @Test
+    public void givenManyRemovedNames_whenCompacted_thenKeepLiveNames() {
+        for (long id = 0; id < 5000; id++) {
+            index.put(id, "framework" + id);
+        }
+        for (long id = 0; id < 4990; id++) {
+            index.remove(id);
+        }
+
+        assertThat(index.find("framework499", false), is(Optional.of(List.of(4990L, 4991L, 4992L, 4993L, 4994L, 4995L, 4996L, 4997L, 4998L, 4999L))));
+        assertThat(index.size(), is(10));
+    }
+
+    @Test
+    public void givenWildcardOrTooManyMatches_whenFind_thenLeaveToDatabase() {
+        properties.setMaximumMatches(1);
+        index.put(1L, "framework1");
+        index.put(2L, "framework2");
+
+        assertThat(index.find("frame%", false), is(Optional.empty()));
+        assertThat(index.find("framework", false), is(Optional.empty()));
+        assertThat(index.find("framework2", false), is(Optional.of(List.of(2L))));
+    }
+}
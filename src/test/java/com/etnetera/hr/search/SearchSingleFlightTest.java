@@ -0,0 +1,185 @@
+package com.etnetera.hr.search;
+
+import com.etnetera.hr.dto.JSFrameworkDto;
+import com.etnetera.hr.dto.SearchJSFrameworkDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class SearchSingleFlightTest {
+
+    private static final List<JSFrameworkDto> FOUND = List.of(framework(1L, "framework1"), framework(2L, "framework2"));
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    private final CountDownLatch released = new CountDownLatch(1);
+
+    private final AtomicInteger queries = new AtomicInteger();
+
+    private SearchSingleFlightProperties properties;
+
+    private MeterRegistry meterRegistry;
+
+    private SearchSingleFlight singleFlight;
+
+    @Before
+    public void setUp() {
+        properties = new SearchSingleFlightProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SearchSingleFlight(properties, meterRegistry);
+    }
+
+    @After
+    public void tearDown() {
+        released.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void givenConcurrentSameFilters_whenSearch_thenShareOneQuery() throws Exception {
+        Future<List<JSFrameworkDto>> first = search(SearchJSFrameworkDto.builder().version(List.of("2", "1")).build());
+        awaitQueries(1);
+        List<Future<List<JSFrameworkDto>>> waiting = new ArrayList<>();
+        SearchJSFrameworkDto same = SearchJSFrameworkDto.builder().version(List.of("1", "2", "1")).build();
+        for (int i = 0; i < 3; i++) {
+            waiting.add(search(same));
+        }
+        awaitShared(same, 3);
+        released.countDown();
+
+        assertThat(first.get(), is(FOUND));
+        for (Future<List<JSFrameworkDto>> search : waiting) {
+            assertThat(search.get(), is(FOUND));
+        }
+        assertThat(queries.get(), is(1));
+        assertThat(meterRegistry.get("frameworks.search.single-flight").tag("result", "shared").counter().count(), is(3.0));
+        assertThat(meterRegistry.get("frameworks.search.single-flight.collapse-ratio").gauge().value(), is(0.75));
+    }
+
+    @Test
+    public void givenDifferentFilters_whenSearch_thenRunOwnQueries() throws Exception {
+        Future<List<JSFrameworkDto>> first = search(SearchJSFrameworkDto.builder().name("framework").build());
+        Future<List<JSFrameworkDto>> second = search(SearchJSFrameworkDto.builder().name("framework1").build());
+        awaitQueries(2);
+        released.countDown();
+
+        assertThat(first.get(), is(FOUND));
+        assertThat(second.get(), is(FOUND));
+    }
+
+    @Test
+    public void givenResultOverMaximum_whenSearch_thenWaitingSearchesRunOwnQuery() throws Exception {
+        properties.setMaximumSharedResultSize(1);
+        SearchJSFrameworkDto filter = SearchJSFrameworkDto.builder().name("framework").build();
+        Future<List<JSFrameworkDto>> first = search(filter);
+        awaitQueries(1);
+        Future<List<JSFrameworkDto>> second = search(filter);
+        awaitShared(filter, 1);
+        released.countDown();
+
+        assertThat(first.get(), is(FOUND));
+        assertThat(second.get(), is(FOUND));
+        assertThat(queries.get(), is(2));
+    }
+
+    @Test
+    public void givenWriteDuringQuery_whenSearch_thenLaterSearchRunsOwnQuery() throws Exception {
+        SearchJSFrameworkDto filter = SearchJSFrameworkDto.builder().name("framework").build();
+        Future<List<JSFrameworkDto>> first = search(filter);
+        awaitQueries(1);
+        singleFlight.evict(null, framework(3L, "framework3"));
+        Future<List<JSFrameworkDto>> second = search(filter);
+        awaitQueries(2);
+        released.countDown();
+
+        assertThat(first.get(), is(FOUND));
+        assertThat(second.get(), is(FOUND));
+    }
+
+    @Test
+    public void givenFailingQuery_whenSearch_thenWaitingSearchesFail() throws Exception {
+        SearchJSFrameworkDto filter = SearchJSFrameworkDto.builder().name("framework").build();
+        Future<?> first = executor.submit(() -> singleFlight.search(filter, framework -> {
+        }, found -> {
+            queries.incrementAndGet();
+            awaitReleased();
+            throw new IllegalStateException("query failed");
+        }));
+        awaitQueries(1);
+        Future<List<JSFrameworkDto>> second = search(filter);
+        awaitShared(filter, 1);
+        released.countDown();
+
+        for (Future<?> search : List.of(first, second)) {
+            try {
+                search.get();
+                fail("Search did not fail");
+            } catch (Exception e) {
+                assertThat(e.getCause(), is(instanceOf(IllegalStateException.class)));
+            }
+        }
+    }
+
+    /**
+     * Search whose query finds {@link #FOUND} once released
+     */
+    private Future<List<JSFrameworkDto>> search(SearchJSFrameworkDto filter) {
+        return executor.submit(() -> {
+            List<JSFrameworkDto> found = new ArrayList<>();
+            singleFlight.search(filter, found::add, this::query);
+            return found;
+        });
+    }
+
+    private void query(Consumer<JSFrameworkDto> consumer) {
+        queries.incrementAndGet();
+        awaitReleased();
+        FOUND.forEach(consumer);
+    }
+
+    private void awaitReleased() {
+        try {
+            released.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void awaitQueries(int count) throws InterruptedException {
+        while (queries.get() < count) {
+            Thread.sleep(10);
+        }
+    }
+
+    private void awaitShared(SearchJSFrameworkDto filter, int count) throws InterruptedException {
+        while (singleFlight.waiting(filter) < count) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static JSFrameworkDto framework(Long id, String name) {
+        return JSFrameworkDto.builder()
+                .id(id)
+                .name(name)
+                .version(List.of("1", "2"))
+                .deprecationDate(LocalDate.parse("2022-01-01"))
+                .hypeLevel(1)
+                .build();
+    }
+}
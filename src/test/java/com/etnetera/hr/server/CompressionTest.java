@@ -0,0 +1,77 @@
+package com.etnetera.hr.server;
+
+import com.etnetera.hr.dto.JSFrameworkDto;
+import com.etnetera.hr.service.JavaScriptFrameworkService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Verifies that the server compresses large responses accepting gzip, also streamed ones, and leaves small ones.
+ *
+ * @author Etnetera
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class CompressionTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JavaScriptFrameworkService service;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    public void givenAcceptGzip_whenGetLargeAndSmallResponses_thenCompressOnlyLarge() throws IOException {
+        List<JSFrameworkDto> frameworks = IntStream.range(0, 100)
+                .mapToObj(i -> JSFrameworkDto.builder()
+                        .name("framework" + i)
+                        .version(List.of("1.0.0", "2.0.0"))
+                        .deprecationDate(LocalDate.parse("2022-01-01"))
+                        .hypeLevel(i % 10)
+                        .build())
+                .collect(Collectors.toList());
+        service.createFrameworks(frameworks);
+
+        HttpURLConnection page = get("/frameworks", "application/json");
+        assertThat(page.getHeaderField(HttpHeaders.CONTENT_ENCODING), is("gzip"));
+        try (InputStream body = new GZIPInputStream(page.getInputStream())) {
+            assertThat(objectMapper.readValue(body, JSFrameworkDto[].class), arrayWithSize(100));
+        }
+
+        HttpURLConnection search = get("/frameworks/search?version=1.0.0", BinaryFormatsConfiguration.APPLICATION_CBOR_VALUE);
+        assertThat(search.getHeaderField(HttpHeaders.CONTENT_ENCODING), is("gzip"));
+
+        HttpURLConnection single = get("/frameworks/1", "application/json");
+        assertThat(single.getResponseCode(), is(200));
+        assertThat(single.getHeaderField(HttpHeaders.CONTENT_ENCODING), is(nullValue()));
+    }
+
+    private HttpURLConnection get(final String path, final String accept) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + port + path).openConnection();
+        connection.setRequestProperty(HttpHeaders.ACCEPT, accept);
+        connection.setRequestProperty(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        return connection;
+    }
+}
@@ -0,0 +1,38 @@
+package com.etnetera.hr.server;
+
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assume.assumeThat;
+
+public class VirtualThreadsConfigurationTest {
+
+    @Test
+    public void givenJava21_whenExecuteTask_thenRunOnVirtualThread() throws Exception {
+        assumeThat(Runtime.version().feature(), is(greaterThanOrEqualTo(21)));
+        ExecutorService executor = VirtualThreadsConfiguration.newVirtualThreadPerTaskExecutor();
+        try {
+            Object virtual = executor.submit(() -> Thread.class.getMethod("isVirtual").invoke(Thread.currentThread()))
+                    .get(10, TimeUnit.SECONDS);
+            assertThat(virtual, is(true));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void givenOlderJava_whenCreateExecutor_thenFailFast() {
+        assumeThat(Runtime.version().feature(), is(lessThan(21)));
+        try {
+            VirtualThreadsConfiguration.newVirtualThreadPerTaskExecutor();
+        } catch (IllegalStateException e) {
+            assertThat(e.getMessage(), containsString("Java 21"));
+            return;
+        }
+        throw new AssertionError("executor created without virtual threads");
+    }
+}
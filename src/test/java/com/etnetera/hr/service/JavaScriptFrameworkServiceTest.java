@@ -1,8 +1,14 @@
 package com.etnetera.hr.service;
 
+import com.etnetera.hr.cache.FrameworkCacheProperties;
+import com.etnetera.hr.cache.JavaScriptFrameworkCache;
 import com.etnetera.hr.data.JavaScriptFramework;
 import com.etnetera.hr.dto.JSFrameworkDto;
+import com.etnetera.hr.dto.SearchJSFrameworkDto;
 import com.etnetera.hr.repository.JavaScriptFrameworkRepository;
+import com.etnetera.hr.repository.JavaScriptFrameworkSpecification;
+import com.etnetera.hr.search.FrameworkNameIndex;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,8 +17,11 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.junit4.SpringRunner;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.*;
@@ -24,9 +33,23 @@ public class JavaScriptFrameworkServiceTest {
     @MockBean
     private JavaScriptFrameworkRepository repository;
 
+    @MockBean
+    private FrameworkNameIndex nameIndex;
+
     @Autowired
     private JavaScriptFrameworkService service;
 
+    @Autowired
+    private JavaScriptFrameworkCache cache;
+
+    @Autowired
+    private FrameworkCacheProperties cacheProperties;
+
+    @Before
+    public void setUp() {
+        cache.clear();
+    }
+
     @Test
     public void givenFramework_whenCreateFramework_callsRepository() {
         when(repository.save(any(JavaScriptFramework.class))).thenReturn(
@@ -104,4 +127,73 @@ public class JavaScriptFrameworkServiceTest {
         assertEquals(expected, actual);
         verify(repository, never()).save(any(JavaScriptFramework.class));
     }
+
+    @Test
+    public void givenCachedFramework_whenGetFrameworkById_notCallsRepository() {
+        when(repository.findDtoById(1L)).thenReturn(Optional.of(JSFrameworkDto.fromEntity(framework(1L, "framework1", 0))));
+
+        service.getFrameworkById(1L);
+        Optional<JSFrameworkDto> actual = service.getFrameworkById(1L);
+
+        assertEquals("framework1", actual.map(JSFrameworkDto::getName).orElse(null));
+        verify(repository, times(1)).findDtoById(1L);
+    }
+
+    @Test
+    public void givenCachedFramework_whenEditFramework_thenReloadFramework() {
+        when(repository.findDtoById(1L)).thenReturn(Optional.of(JSFrameworkDto.fromEntity(framework(1L, "framework1", 0))));
+        when(repository.findById(1L)).thenReturn(Optional.of(framework(1L, "framework1", 0)));
+        when(repository.save(any(JavaScriptFramework.class))).thenAnswer(a -> a.getArgument(0));
+
+        service.getFrameworkById(1L);
+        service.editFramework(1L, JSFrameworkDto.fromEntity(framework(null, "framework2", 0)));
+        service.getFrameworkById(1L);
+
+        verify(repository, times(2)).findDtoById(1L);
+    }
+
+    @Test
+    public void givenCachedSearches_whenCreateFramework_thenEvictOnlyMatchingSearches() {
+        when(repository.streamDtos(any(JavaScriptFrameworkSpecification.class))).thenAnswer(a -> Stream.empty());
+        when(repository.save(any(JavaScriptFramework.class))).thenReturn(framework(1L, "framework", 5));
+        SearchJSFrameworkDto matching = SearchJSFrameworkDto.builder().name("frame").minHypeLevel(5).build();
+        SearchJSFrameworkDto other = SearchJSFrameworkDto.builder().version(List.of("1.0.0")).minHypeLevel(6).build();
+
+        service.searchFrameworks(matching, framework -> {
+        });
+        service.searchFrameworks(other, framework -> {
+        });
+        service.createFramework(JSFrameworkDto.fromEntity(framework(null, "framework", 5)));
+        service.searchFrameworks(matching, framework -> {
+        });
+        service.searchFrameworks(other, framework -> {
+        });
+
+        verify(repository, times(3)).streamDtos(any(JavaScriptFrameworkSpecification.class));
+    }
+
+    @Test
+    public void givenSearchResultOverMaximumSize_whenSearchTwice_thenStreamBothFromRepository() {
+        int size = cacheProperties.getMaximumSearchResultSize() + 1;
+        when(repository.streamDtos(any(JavaScriptFrameworkSpecification.class))).thenAnswer(a -> LongStream.rangeClosed(1, size)
+                .mapToObj(id -> JSFrameworkDto.fromEntity(framework(id, "framework" + id, 0))));
+        SearchJSFrameworkDto filter = SearchJSFrameworkDto.builder().minHypeLevel(0).build();
+        List<JSFrameworkDto> found = new ArrayList<>();
+
+        service.searchFrameworks(filter, found::add);
+        service.searchFrameworks(filter, found::add);
+
+        assertEquals(2 * size, found.size());
+        verify(repository, times(2)).streamDtos(any(JavaScriptFrameworkSpecification.class));
+    }
+
+    private static JavaScriptFramework framework(Long id, String name, Integer hypeLevel) {
+        return JavaScriptFramework.builder()
+                .id(id)
+                .name(name)
+                .version(List.of("1.0.0"))
+                .hypeLevel(hypeLevel)
+                .deprecationDate(LocalDate.parse("2022-01-01"))
+                .build();
+    }
 }
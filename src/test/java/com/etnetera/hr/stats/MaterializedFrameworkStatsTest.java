@@ -0,0 +1,55 @@
+package com.etnetera.hr.stats;
+
+import com.etnetera.hr.dto.JSFrameworkDto;
+import com.etnetera.hr.repository.JavaScriptFrameworkRepository;
+import com.etnetera.hr.repository.JavaScriptFrameworkSpecification;
+import org.junit.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class MaterializedFrameworkStatsTest {
+
+    private final JavaScriptFrameworkRepository repository = mock(JavaScriptFrameworkRepository.class);
+
+    private final MaterializedFrameworkStats stats = new MaterializedFrameworkStats(
+            repository, mock(PlatformTransactionManager.class), new FrameworkStatsProperties());
+
+    @Test
+    public void givenWriteCommittedBeforeLoadAndUpdatedAfterIt_whenLoad_thenCountItOnce() {
+        JSFrameworkDto created = JSFrameworkDto.builder()
+                .id(1L)
+                .hypeLevel(5)
+                .deprecationDate(LocalDate.parse("2030-01-01"))
+                .version(List.of("1.0.0"))
+                .build();
+        stats.beginWrite();
+        // the write is committed, the first load includes it while its update is still to come
+        when(repository.countByHypeLevel(any(JavaScriptFrameworkSpecification.class)))
+                .thenReturn(new TreeMap<>(Map.of(5, 1L)))
+                .thenAnswer(invocation -> {
+                    stats.update(null, created);
+                    stats.endWrite();
+                    return new TreeMap<>(Map.of(5, 1L));
+                })
+                .thenReturn(new TreeMap<>(Map.of(5, 1L)));
+        when(repository.countByDeprecationYear(any(JavaScriptFrameworkSpecification.class)))
+                .thenReturn(new TreeMap<>(Map.of(2030, 1L)));
+        when(repository.countByVersion(any(JavaScriptFrameworkSpecification.class)))
+                .thenReturn(new TreeMap<>(Map.of("1.0.0", 1L)));
+
+        stats.load();
+
+        assertThat(stats.get().get().getHypeLevels(), is(Map.of(5, 1L)));
+        assertThat(stats.get().get().getCount(), is(1L));
+        verify(repository, times(3)).countByHypeLevel(any(JavaScriptFrameworkSpecification.class));
+    }
+}
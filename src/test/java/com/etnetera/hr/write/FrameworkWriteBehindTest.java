@@ -0,0 +1,93 @@
+package com.etnetera.hr.write;
+
+import com.etnetera.hr.controller.JavaScriptFrameworkController;
+import com.etnetera.hr.dto.BulkItemResultDto;
+import com.etnetera.hr.service.JavaScriptFrameworkService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that writes are rejected with Retry-After while the writer is busy and the queue is full.
+ *
+ * @author Etnetera
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = {
+        "frameworks.write-behind.queue-capacity=2",
+        "frameworks.write-behind.batch-size=1",
+        "frameworks.write-behind.retry-after=3s"
+})
+@AutoConfigureMockMvc
+public class FrameworkWriteBehindTest {
+
+    private static final String FRAMEWORK = "{\"name\": \"framework\", \"version\": [\"1\"], \"deprecationDate\": \"2022-01-01\", \"hypeLevel\": 1}";
+
+    @MockBean
+    private JavaScriptFrameworkService service;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final CountDownLatch writerBlocked = new CountDownLatch(1);
+
+    @After
+    public void tearDown() {
+        writerBlocked.countDown();
+    }
+
+    @Test
+    public void givenBusyWriter_whenQueueIsFull_thenReturn429WithRetryAfter() throws Exception {
+        CountDownLatch writerTook = new CountDownLatch(1);
+        when(service.createFrameworks(anyList())).thenAnswer(invocation -> {
+            writerTook.countDown();
+            writerBlocked.await();
+            return List.of(BulkItemResultDto.builder().index(0).id(1L).status(BulkItemResultDto.Status.CREATED).build());
+        });
+
+        // the writer takes one write and blocks, two more fill the queue
+        createAsync().andExpect(status().isAccepted());
+        assertThat(writerTook.await(5, TimeUnit.SECONDS), is(true));
+        for (int i = 0; i < 2; i++) {
+            createAsync().andExpect(status().isAccepted());
+        }
+        createAsync()
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "3"));
+
+        assertThat(meterRegistry.get("frameworks.write-behind.queue").gauge().value(), is(2.0));
+        assertThat(meterRegistry.get("frameworks.write-behind.rejected").counter().count(), is(1.0));
+    }
+
+    private ResultActions createAsync() throws Exception {
+        return mvc.perform(post("/frameworks")
+                .header("Prefer", JavaScriptFrameworkController.RESPOND_ASYNC)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(FRAMEWORK));
+    }
+}